@@ -91,6 +91,23 @@ export interface LectureRequest {
 }
 
 const apiUrl = env.VITE_API_GATEWAY_URL.replace(/\/$/, "");
+
+// List endpoints are keyset-paginated; follow X-Next-Cursor until the last page
+const fetchAllPages = async <T>(url: string, errorMessage: string): Promise<T[]> => {
+  const items: T[] = [];
+  let cursor: string | null = null;
+  do {
+    const separator = url.includes("?") ? "&" : "?";
+    const response = await fetch(
+      cursor ? `${url}${separator}cursor=${encodeURIComponent(cursor)}` : url
+    );
+    if (!response.ok) throw new Error(errorMessage);
+    items.push(...((await response.json()) as T[]));
+    cursor = response.headers.get("X-Next-Cursor");
+  } while (cursor);
+  return items;
+};
+
 // API functions
 const api = {
   // Gateway endpoints
@@ -117,9 +134,7 @@ const api = {
     const url = lectureId
       ? `${apiUrl}/api/documents?lectureId=${encodeURIComponent(lectureId)}`
       : `${apiUrl}/api/documents`;
-    const response = await fetch(url);
-    if (!response.ok) throw new Error("Failed to fetch documents");
-    return response.json();
+    return fetchAllPages<Document>(url, "Failed to fetch documents");
   },
 
   getDocument: async (id: number): Promise<Document> => {
@@ -259,17 +274,14 @@ const api = {
 
   // Lecture service endpoints
   getLectures: async (): Promise<Lecture[]> => {
-    const response = await fetch(`${apiUrl}/api/lectures`);
-    if (!response.ok) throw new Error("Failed to fetch lectures");
-    return response.json();
+    return fetchAllPages<Lecture>(`${apiUrl}/api/lectures`, "Failed to fetch lectures");
   },
 
   getLecturesByUser: async (userId: string): Promise<Lecture[]> => {
-    const response = await fetch(
-      `${apiUrl}/api/lectures/user/${encodeURIComponent(userId)}`
+    return fetchAllPages<Lecture>(
+      `${apiUrl}/api/lectures/user/${encodeURIComponent(userId)}`,
+      "Failed to fetch user lectures"
     );
-    if (!response.ok) throw new Error("Failed to fetch user lectures");
-    return response.json();
   },
 
   getLecture: async (id: number): Promise<Lecture> => {
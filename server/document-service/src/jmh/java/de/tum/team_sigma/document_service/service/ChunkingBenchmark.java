@@ -0,0 +1,40 @@
+package de.tum.team_sigma.document_service.service;
+
+import de.tum.team_sigma.document_service.model.Document;
+import de.tum.team_sigma.document_service.model.DocumentChunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Splitting extracted lecture text into chunk rows, as done on every upload. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChunkingBenchmark {
+
+    // About one slide deck, one lecture script and one long script
+    @Param({"100", "1000", "10000"})
+    private int sentences;
+
+    private Document document;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        document = new Document("Network Security", "network-security.pdf", "application/pdf", 0L, "documents/x", "1");
+        text = LectureFixtures.lectureText(sentences);
+    }
+
+    @Benchmark
+    public List<DocumentChunk> splitIntoChunks() {
+        return DocumentService.splitIntoChunks(document, text);
+    }
+}
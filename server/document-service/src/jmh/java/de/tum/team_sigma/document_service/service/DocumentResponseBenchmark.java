@@ -0,0 +1,72 @@
+package de.tum.team_sigma.document_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.team_sigma.document_service.dto.ConversationMessageResponse;
+import de.tum.team_sigma.document_service.dto.DocumentResponse;
+import de.tum.team_sigma.document_service.model.ConversationMessage;
+import de.tum.team_sigma.document_service.model.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a {@link DocumentResponse} from the entity and its conversation, and writing it as
+ * JSON with an ObjectMapper configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentResponseBenchmark {
+
+    // Conversation length: a fresh document and one that has been chatted about
+    @Param({"0", "50"})
+    private int messages;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Document document;
+    private List<ConversationMessageResponse> conversation;
+    private DocumentResponse response;
+
+    @Setup
+    public void setUp() {
+        document = new Document("Network Security", "network-security.pdf", "application/pdf",
+            4_194_304L, "documents/1700000000000_abcd1234_network-security.pdf", "42");
+        document.setId(1L);
+        document.setDescription("Lecture 7: TLS, certificates and key exchange");
+
+        String[] sentences = LectureFixtures.lectureText(Math.max(1, messages)).split("(?<=\\.)\\s+");
+        conversation = new ArrayList<>();
+        for (int i = 0; i < messages; i++) {
+            ConversationMessage message = new ConversationMessage(1L, i,
+                i % 2 == 0 ? ConversationMessage.MessageType.HUMAN : ConversationMessage.MessageType.AI,
+                sentences[i % sentences.length]);
+            conversation.add(new ConversationMessageResponse(message));
+        }
+        response = construct();
+    }
+
+    @Benchmark
+    public DocumentResponse construct() {
+        return new DocumentResponse(document, 240, conversation);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] constructAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(construct());
+    }
+}
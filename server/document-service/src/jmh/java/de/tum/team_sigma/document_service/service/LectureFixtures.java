@@ -0,0 +1,117 @@
+package de.tum.team_sigma.document_service.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+
+import java.awt.geom.Rectangle2D;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic lecture-like inputs for the benchmarks: prose built from course vocabulary,
+ * and PDF and PPTX documents containing it, generated in memory so no binary fixtures are
+ * checked in.
+ */
+final class LectureFixtures {
+
+    private static final String[] SUBJECTS = {
+        "The sender", "A certificate authority", "The key exchange", "Each round of the cipher",
+        "An attacker on the network", "The handshake", "A hash function", "The receiver"
+    };
+    private static final String[] VERBS = {
+        "derives", "authenticates", "encrypts", "verifies", "negotiates", "signs", "compresses", "rejects"
+    };
+    private static final String[] OBJECTS = {
+        "a fresh session key", "the server's public key", "every record with AES-GCM",
+        "the message authentication code", "the list of supported cipher suites",
+        "the transcript of all previous messages", "a nonce that is never reused", "expired certificates"
+    };
+    private static final String[] QUALIFIERS = {
+        "before any application data is sent", "so that replayed messages are detected",
+        "using elliptic-curve Diffie-Hellman", "as described in the previous lecture",
+        "which prevents downgrade attacks", "within a single round trip", "", ""
+    };
+
+    private LectureFixtures() {
+    }
+
+    /** Roughly {@code sentences} sentences, with a paragraph break every eight. */
+    static String lectureText(int sentences) {
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < sentences; i++) {
+            text.append(SUBJECTS[random.nextInt(SUBJECTS.length)]).append(' ')
+                .append(VERBS[random.nextInt(VERBS.length)]).append(' ')
+                .append(OBJECTS[random.nextInt(OBJECTS.length)]);
+            String qualifier = QUALIFIERS[random.nextInt(QUALIFIERS.length)];
+            if (!qualifier.isEmpty()) {
+                text.append(' ').append(qualifier);
+            }
+            text.append(i % 8 == 7 ? ".\n\n" : ". ");
+        }
+        return text.toString();
+    }
+
+    static byte[] pdf(String text) throws IOException {
+        List<String> lines = wrap(text, 90);
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (int start = 0; start < lines.size(); start += 45) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 10);
+                    content.newLineAtOffset(60, 740);
+                    for (String line : lines.subList(start, Math.min(lines.size(), start + 45))) {
+                        content.showText(line);
+                        content.newLineAtOffset(0, -15);
+                    }
+                    content.endText();
+                }
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    /** One slide per paragraph, like bullet-point lecture slides. */
+    static byte[] pptx(String text) throws IOException {
+        try (XMLSlideShow slides = new XMLSlideShow(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            for (String paragraph : text.split("\n\n")) {
+                XSLFSlide slide = slides.createSlide();
+                XSLFTextBox box = slide.createTextBox();
+                box.setAnchor(new Rectangle2D.Double(40, 40, 640, 460));
+                box.setText(paragraph.replace(". ", ".\n"));
+            }
+            slides.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static List<String> wrap(String text, int width) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : text.split("\\s+")) {
+            if (line.length() + word.length() + 1 > width) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if (!line.isEmpty()) {
+                line.append(' ');
+            }
+            line.append(word);
+        }
+        if (!line.isEmpty()) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+}
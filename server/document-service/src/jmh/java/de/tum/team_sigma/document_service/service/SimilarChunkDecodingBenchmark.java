@@ -0,0 +1,60 @@
+package de.tum.team_sigma.document_service.service;
+
+import com.google.gson.Gson;
+import de.tum.team_sigma.document_service.dto.SimilarChunkResponse;
+import io.weaviate.client.v1.graphql.model.GraphQLResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of a Weaviate nearText GraphQL response into chunk results. The response is parsed
+ * with Gson the way the Weaviate client does, so numbers arrive as doubles in nested maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimilarChunkDecodingBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int results;
+
+    private final Gson gson = new Gson();
+    private String json;
+    private Object data;
+
+    @Setup
+    public void setUp() {
+        String[] sentences = LectureFixtures.lectureText(results).split("(?<=\\.)\\s+");
+        StringBuilder chunks = new StringBuilder();
+        for (int i = 0; i < results; i++) {
+            if (i > 0) {
+                chunks.append(',');
+            }
+            chunks.append("{\"documentId\":").append(1000 + i % 17)
+                .append(",\"chunkIndex\":").append(i)
+                .append(",\"text\":").append(gson.toJson(sentences[i % sentences.length])).append('}');
+        }
+        json = "{\"data\":{\"Get\":{\"DocumentChunk\":[" + chunks + "]}}}";
+        data = gson.fromJson(json, GraphQLResponse.class).getData();
+    }
+
+    @Benchmark
+    public List<SimilarChunkResponse> decode() {
+        return DocumentService.decodeSimilarChunks(data);
+    }
+
+    // Including the client's JSON parsing, i.e. everything after the HTTP response arrived
+    @Benchmark
+    public List<SimilarChunkResponse> parseAndDecode() {
+        return DocumentService.decodeSimilarChunks(gson.fromJson(json, GraphQLResponse.class).getData());
+    }
+}
@@ -0,0 +1,39 @@
+package de.tum.team_sigma.document_service.service;
+
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Text extraction with the default Tika facade, as in uploads, from generated lecture documents. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TikaExtractionBenchmark {
+
+    @Param({"pdf", "pptx"})
+    private String format;
+
+    private final Tika tika = new Tika();
+    private byte[] content;
+
+    @Setup
+    public void setUp() throws Exception {
+        // About 20 pages or 60 slides
+        String text = LectureFixtures.lectureText(480);
+        content = "pdf".equals(format) ? LectureFixtures.pdf(text) : LectureFixtures.pptx(text);
+    }
+
+    @Benchmark
+    public String parseToString() throws Exception {
+        return tika.parseToString(new ByteArrayInputStream(content));
+    }
+}
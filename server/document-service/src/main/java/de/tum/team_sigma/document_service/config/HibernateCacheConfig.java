@@ -0,0 +1,82 @@
+package de.tum.team_sigma.document_service.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Second-level entity cache for Hibernate, backed by Caffeine through JCache. Regions are
+ * created up front with the sizes and TTLs configured under {@code hibernate-cache.regions};
+ * Hibernate fails at startup if an entity refers to a region that is not listed here.
+ * Hit, miss and put counts per region are published by Spring Boot's Hibernate metrics.
+ *
+ * <p>The regions live in each replica's heap and are not invalidated across replicas: a write on
+ * one replica evicts only its own entries, so another replica may serve the previous state of a
+ * document until the TTL expires. The TTLs bound that staleness for plain reads. Reads whose
+ * result decides what is written, deleted or tagged (lecture deletion, document metadata and its
+ * ETag) bypass the cache instead, see {@code DocumentRepository.CACHE_BYPASS}. For the same reason
+ * the query cache is off: a cached result such as a document's object key would outlive a delete
+ * made through another replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hibernate-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    private static final String DOCUMENTS_REGION = "documents";
+
+    @Value("${hibernate-cache.regions.documents.max-size:10000}")
+    private long documentsMaxSize;
+
+    @Value("${hibernate-cache.regions.documents.ttl:10m}")
+    private Duration documentsTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createRegion(cacheManager, DOCUMENTS_REGION, documentsMaxSize, documentsTtl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    /** A max size of 0 leaves the region unbounded, a zero TTL disables expiry. */
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (!ttl.isZero()) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        // The provider's default manager is shared, e.g. by several test contexts
+        if (cacheManager.getCache(name) != null) {
+            cacheManager.destroyCache(name);
+        }
+        cacheManager.createCache(name, configuration);
+    }
+} 
\ No newline at end of file
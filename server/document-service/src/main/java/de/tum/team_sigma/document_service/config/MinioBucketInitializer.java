@@ -0,0 +1,63 @@
+package de.tum.team_sigma.document_service.config;
+
+import io.minio.BucketExistsArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the MinIO bucket if it does not exist yet. Runs as a {@link StartupTask}, so an
+ * unreachable MinIO delays readiness instead of failing startup.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "minio", matchIfMissing = true)
+public class MinioBucketInitializer implements StartupTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(MinioBucketInitializer.class);
+
+    private final MinioClient minioClient;
+    private final String bucketName;
+
+    /**
+     * Allows tests to disable the network call that verifies/creates the bucket.
+     * Defaults to <code>false</code> so production behaviour is unchanged.
+     */
+    private final boolean skipBucketCheck;
+
+    public MinioBucketInitializer(MinioClient minioClient,
+                                  @Value("${minio.bucket-name}") String bucketName,
+                                  @Value("${minio.skip-check:false}") boolean skipBucketCheck) {
+        this.minioClient = minioClient;
+        this.bucketName = bucketName;
+        this.skipBucketCheck = skipBucketCheck;
+    }
+
+    @Override
+    public String name() {
+        return "minio";
+    }
+
+    @Override
+    public void run() throws Exception {
+        if (skipBucketCheck) {
+            logger.debug("Skipping MinIO bucket existence check (minio.skip-check=true)");
+            return;
+        }
+        boolean exists = minioClient.bucketExists(BucketExistsArgs.builder()
+                .bucket(bucketName)
+                .build());
+
+        if (!exists) {
+            minioClient.makeBucket(MakeBucketArgs.builder()
+                    .bucket(bucketName)
+                    .build());
+            logger.info("Created MinIO bucket: {}", bucketName);
+        } else {
+            logger.info("MinIO bucket already exists: {}", bucketName);
+        }
+    }
+}
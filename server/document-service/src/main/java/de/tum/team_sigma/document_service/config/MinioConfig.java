@@ -1,20 +1,16 @@
 package de.tum.team_sigma.document_service.config;
 
-import io.minio.BucketExistsArgs;
-import io.minio.MakeBucketArgs;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 @Configuration
 @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(name = "storage.type", havingValue = "minio", matchIfMissing = true)
 public class MinioConfig {
 
-    private static final Logger logger = LoggerFactory.getLogger(MinioConfig.class);
-
     @Value("${minio.url}")
     private String minioUrl;
 
@@ -28,52 +24,47 @@ public class MinioConfig {
     private String bucketName;
 
     /**
-     * Allows tests to disable the network call that verifies/creates the bucket.
-     * Defaults to <code>false</code> so production behaviour is unchanged.
+     * Endpoint that clients use to reach MinIO directly. Pre-signed URLs embed the host in
+     * their signature, so they must be generated against the externally visible address
+     * rather than the in-cluster one. Falls back to {@code minio.url} when unset.
      */
-    @Value("${minio.skip-check:false}")
-    private boolean skipBucketCheck;
+    @Value("${minio.public-url:}")
+    private String publicUrl;
+
+    @Value("${minio.region:us-east-1}")
+    private String region;
 
+    // The bucket is checked and created by MinioBucketInitializer once the application is up
     @Bean
+    @Primary
     public MinioClient minioClient() {
-        try {
-            MinioClient client = MinioClient.builder()
-                    .endpoint(minioUrl)
-                    .credentials(accessKey, secretKey)
-                    .build();
-
-            // Optionally create bucket if it doesn't exist (skipped in tests)
-            if (!skipBucketCheck) {
-                createBucketIfNotExists(client);
-            } else {
-                logger.debug("Skipping MinIO bucket existence check (minio.skip-check=true)");
-            }
-
-            return client;
-        } catch (Exception e) {
-            logger.error("Failed to create MinIO client", e);
-            throw new RuntimeException("Failed to create MinIO client", e);
-        }
+        return MinioClient.builder()
+                .endpoint(minioUrl)
+                .credentials(accessKey, secretKey)
+                .build();
     }
 
-    private void createBucketIfNotExists(MinioClient client) {
-        try {
-            boolean exists = client.bucketExists(BucketExistsArgs.builder()
-                    .bucket(bucketName)
-                    .build());
+    @Bean
+    public MinioAsyncClient minioAsyncClient() {
+        return MinioAsyncClient.builder()
+                .endpoint(minioUrl)
+                .credentials(accessKey, secretKey)
+                .build();
+    }
 
-            if (!exists) {
-                client.makeBucket(MakeBucketArgs.builder()
-                        .bucket(bucketName)
-                        .build());
-                logger.info("Created MinIO bucket: {}", bucketName);
-            } else {
-                logger.info("MinIO bucket already exists: {}", bucketName);
-            }
-        } catch (Exception e) {
-            logger.error("Failed to create/check MinIO bucket", e);
-            throw new RuntimeException("Failed to create/check MinIO bucket", e);
-        }
+    /**
+     * Client used only for signing download URLs. Signing happens locally, the explicit
+     * region avoids the bucket-location lookup against the (possibly unreachable from
+     * inside the cluster) public endpoint.
+     */
+    @Bean
+    public MinioClient minioPresignClient() {
+        String endpoint = publicUrl == null || publicUrl.isBlank() ? minioUrl : publicUrl;
+        return MinioClient.builder()
+                .endpoint(endpoint)
+                .region(region)
+                .credentials(accessKey, secretKey)
+                .build();
     }
 
     @Bean
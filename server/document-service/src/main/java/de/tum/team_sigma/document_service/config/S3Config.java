@@ -3,9 +3,13 @@ package de.tum.team_sigma.document_service.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.multipart.MultipartConfiguration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 @Configuration
 @org.springframework.boot.autoconfigure.condition.ConditionalOnProperty(name = "storage.type", havingValue = "s3")
@@ -17,6 +21,12 @@ public class S3Config {
     @Value("${s3.bucket-name:${S3_BUCKET_NAME:documents}}")
     private String bucketName;
 
+    @Value("${storage.multipart.threshold:16MB}")
+    private DataSize multipartThreshold;
+
+    @Value("${storage.multipart.part-size:16MB}")
+    private DataSize multipartPartSize;
+
     @Bean
     public S3Client s3Client() {
         return S3Client.builder()
@@ -25,6 +35,27 @@ public class S3Config {
                 .build();
     }
 
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(awsRegion))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .multipartEnabled(true)
+                .multipartConfiguration(MultipartConfiguration.builder()
+                        .thresholdInBytes(multipartThreshold.toBytes())
+                        .minimumPartSizeInBytes(multipartPartSize.toBytes())
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public S3Presigner s3Presigner() {
+        return S3Presigner.builder()
+                .region(Region.of(awsRegion))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .build();
+    }
+
     @Bean
     public String s3BucketName() {
         return bucketName;
@@ -0,0 +1,26 @@
+package de.tum.team_sigma.document_service.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health contributor {@code startup}, part of the readiness group: out of service until every
+ * {@link StartupTask} has completed. Not part of liveness, so slow dependencies never get the
+ * container restarted.
+ */
+@Component
+public class StartupHealthIndicator implements HealthIndicator {
+
+    private final StartupTaskRunner startupTaskRunner;
+
+    public StartupHealthIndicator(StartupTaskRunner startupTaskRunner) {
+        this.startupTaskRunner = startupTaskRunner;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = startupTaskRunner.isReady() ? Health.up() : Health.outOfService();
+        return builder.withDetails(startupTaskRunner.status()).build();
+    }
+}
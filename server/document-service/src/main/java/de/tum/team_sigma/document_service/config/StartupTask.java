@@ -0,0 +1,20 @@
+package de.tum.team_sigma.document_service.config;
+
+/**
+ * One-off initialization against a dependency (bucket, schema, parser registry) that must not
+ * block or fail application startup. {@link StartupTaskRunner} runs every task in the background
+ * once the context is up and retries it until it succeeds; readiness reports down until then.
+ */
+public interface StartupTask {
+
+    /** Short name used in logs, metrics and the {@code startup} health details. */
+    String name();
+
+    /** Must be idempotent: it is called again after every failure. */
+    void run() throws Exception;
+
+    /** Tasks of a later phase start once every task of the earlier phases has succeeded. */
+    default int phase() {
+        return 0;
+    }
+}
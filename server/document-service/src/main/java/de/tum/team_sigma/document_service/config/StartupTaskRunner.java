@@ -0,0 +1,148 @@
+package de.tum.team_sigma.document_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the {@link StartupTask}s off the startup path. The context, and with it the web server and
+ * the health endpoints, comes up without waiting for MinIO, Weaviate or Tika; the tasks start
+ * once the application has started, phase by phase and in parallel within a phase, and each one
+ * is retried with exponential backoff until it succeeds. {@link StartupHealthIndicator} keeps
+ * readiness down until all are done.
+ */
+@Component
+public class StartupTaskRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTaskRunner.class);
+
+    private static final String PENDING = "pending";
+    private static final String READY = "ready";
+
+    private final List<StartupTask> tasks;
+    private final List<Integer> phases;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    // Task name to pending, ready or the last failure
+    private final Map<String, String> status = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failures = new ConcurrentHashMap<>();
+    private final long startedAt = System.nanoTime();
+    // Index into phases of the last phase whose tasks were started
+    private final AtomicInteger startedPhase = new AtomicInteger();
+
+    private final ScheduledExecutorService executor;
+
+    public StartupTaskRunner(List<StartupTask> tasks,
+                             MeterRegistry meterRegistry,
+                             @Value("${startup.enabled:true}") boolean enabled,
+                             @Value("${startup.initial-backoff:1s}") Duration initialBackoff,
+                             @Value("${startup.max-backoff:30s}") Duration maxBackoff) {
+        this.tasks = tasks;
+        this.phases = tasks.stream().map(StartupTask::phase).distinct().sorted().toList();
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, tasks.size()), runnable -> {
+            Thread thread = new Thread(runnable, "startup-task");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (StartupTask task : tasks) {
+            status.put(task.name(), enabled ? PENDING : READY);
+            failures.put(task.name(), Counter.builder("startup.task.failures")
+                    .tag("task", task.name())
+                    .description("Failed attempts of the startup task")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("startup.ready", this, runner -> runner.isReady() ? 1 : 0)
+                .description("1 once every startup task has completed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Startup tasks disabled (startup.enabled=false)");
+            return;
+        }
+        startPhase(0);
+    }
+
+    public boolean isReady() {
+        return status.values().stream().allMatch(READY::equals);
+    }
+
+    /** Task name to {@code pending}, {@code ready} or the last failure, in registration order. */
+    public Map<String, String> status() {
+        Map<String, String> ordered = new LinkedHashMap<>();
+        tasks.forEach(task -> ordered.put(task.name(), status.get(task.name())));
+        return ordered;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void startPhase(int index) {
+        if (index >= phases.size()) {
+            return;
+        }
+        int phase = phases.get(index);
+        tasks.stream()
+                .filter(task -> task.phase() == phase)
+                .forEach(task -> executor.execute(() -> attempt(task, initialBackoff)));
+    }
+
+    private void attempt(StartupTask task, Duration backoff) {
+        try {
+            task.run();
+            long elapsed = System.nanoTime() - startedAt;
+            Timer.builder("startup.task.duration")
+                    .tag("task", task.name())
+                    .description("Time from context startup until the startup task succeeded")
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            status.put(task.name(), READY);
+            logger.info("Startup task '{}' completed after {} ms", task.name(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+
+            int index = phases.indexOf(task.phase());
+            boolean phaseDone = tasks.stream()
+                    .filter(other -> other.phase() == task.phase())
+                    .allMatch(other -> READY.equals(status.get(other.name())));
+            if (phaseDone && startedPhase.compareAndSet(index, index + 1)) {
+                startPhase(index + 1);
+            }
+        } catch (Exception e) {
+            failures.get(task.name()).increment();
+            status.put(task.name(), "retrying: " + e.getMessage());
+            logger.warn("Startup task '{}' failed, retrying in {}: {}", task.name(), backoff, e.getMessage());
+            Duration next = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+            executor.schedule(() -> attempt(task, next), backoff.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
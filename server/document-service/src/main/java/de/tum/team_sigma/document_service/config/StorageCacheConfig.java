@@ -0,0 +1,41 @@
+package de.tum.team_sigma.document_service.config;
+
+import de.tum.team_sigma.document_service.storage.CachingObjectStorageService;
+import de.tum.team_sigma.document_service.storage.MinioObjectStorageService;
+import de.tum.team_sigma.document_service.storage.ObjectStorageService;
+import de.tum.team_sigma.document_service.storage.S3ObjectStorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Wraps the active storage backend (MinIO or S3) in a local disk cache so repeated reads of
+ * the same object do not go over the network.
+ */
+@Configuration
+@ConditionalOnProperty(name = "storage.cache.enabled", havingValue = "true")
+public class StorageCacheConfig {
+
+    @Value("${storage.cache.directory:${java.io.tmpdir}/document-cache}")
+    private String directory;
+
+    @Value("${storage.cache.max-size:1GB}")
+    private DataSize maxSize;
+
+    @Bean
+    @Primary
+    public ObjectStorageService cachingObjectStorageService(ObjectProvider<MinioObjectStorageService> minioStorage,
+                                                            ObjectProvider<S3ObjectStorageService> s3Storage,
+                                                            MeterRegistry meterRegistry) throws IOException {
+        ObjectStorageService delegate = minioStorage.getIfAvailable(s3Storage::getObject);
+        return new CachingObjectStorageService(delegate, Path.of(directory), maxSize.toBytes(), meterRegistry);
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,41 @@
+package de.tum.team_sigma.document_service.config;
+
+import org.apache.tika.Tika;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tika facade shared by all text extraction. Building it loads the default parser and detector
+ * registry, a large part of the Tika classpath, so the bean is lazy and created by a
+ * {@link StartupTask} in the background instead of while the context starts.
+ */
+@Configuration
+public class TextExtractionConfig {
+
+    @Bean
+    @Lazy
+    public Tika tika() {
+        return new Tika();
+    }
+
+    @Bean
+    public StartupTask tikaParserRegistry(ObjectProvider<Tika> tika) {
+        return new StartupTask() {
+            @Override
+            public String name() {
+                return "tika";
+            }
+
+            @Override
+            public void run() throws Exception {
+                // Detection and the plain-text parser are on every upload's path
+                tika.getObject().parseToString(new ByteArrayInputStream("tika".getBytes(StandardCharsets.UTF_8)));
+            }
+        };
+    }
+}
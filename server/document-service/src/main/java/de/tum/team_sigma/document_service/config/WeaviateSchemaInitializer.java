@@ -7,8 +7,6 @@ import io.weaviate.client.v1.schema.model.WeaviateClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -16,11 +14,11 @@ import java.util.List;
 /**
  * Ensures that the "DocumentChunk" class (vector index + properties) exists in
  * Weaviate.
- * If the class is missing, it will be created automatically during application
- * startup.
+ * If the class is missing, it will be created automatically once the application
+ * has started; as a {@link StartupTask} it is retried until Weaviate is reachable.
  */
 @Component
-public class WeaviateSchemaInitializer implements ApplicationRunner {
+public class WeaviateSchemaInitializer implements StartupTask {
 
     private static final Logger logger = LoggerFactory.getLogger(WeaviateSchemaInitializer.class);
 
@@ -32,8 +30,20 @@ public class WeaviateSchemaInitializer implements ApplicationRunner {
     }
 
     @Override
-    public void run(ApplicationArguments args) {
+    public String name() {
+        return "weaviate";
+    }
+
+    @Override
+    public void run() {
         final String className = "DocumentChunk";
+        // Fail (and be retried) while Weaviate is unreachable rather than mistaking it for a missing class
+        Result<Boolean> ready = weaviateClient.misc().readyChecker().run();
+        if (ready.hasErrors() || !Boolean.TRUE.equals(ready.getResult())) {
+            throw new IllegalStateException("Weaviate is not ready"
+                    + (ready.hasErrors() ? ": " + ready.getError().getMessages() : ""));
+        }
+
         try {
             // Check if the class already exists
             Result<WeaviateClass> existing = weaviateClient.schema()
@@ -68,10 +78,14 @@ public class WeaviateSchemaInitializer implements ApplicationRunner {
                             Property.builder().name("chunkIndex").dataType(List.of("int")).build()))
                     .build();
 
-            weaviateClient.schema().classCreator().withClass(clazz).run();
+            Result<Boolean> created = weaviateClient.schema().classCreator().withClass(clazz).run();
+            if (created.hasErrors()) {
+                throw new IllegalStateException(created.getError().getMessages().toString());
+            }
             logger.info("Weaviate class '{}' created successfully.", className);
         } catch (Exception e) {
             logger.error("Failed to create Weaviate class '{}': {}", className, e.getMessage(), e);
+            throw new IllegalStateException("Failed to create Weaviate class '" + className + "'", e);
         }
     }
 }
\ No newline at end of file
@@ -1,9 +1,17 @@
 package de.tum.team_sigma.document_service.controller;
 
+import de.tum.team_sigma.document_service.dto.CursorPage;
+import de.tum.team_sigma.document_service.dto.DocumentFileInfo;
 import de.tum.team_sigma.document_service.dto.DocumentResponse;
+import de.tum.team_sigma.document_service.dto.DocumentSummaryResponse;
 import de.tum.team_sigma.document_service.dto.DocumentUploadRequest;
+import de.tum.team_sigma.document_service.dto.LectureDocumentStatsResponse;
+import de.tum.team_sigma.document_service.dto.PresignedUrlResponse;
 import de.tum.team_sigma.document_service.dto.SimilarChunkResponse;
+import de.tum.team_sigma.document_service.exception.ConversationFlushException;
+import de.tum.team_sigma.document_service.service.DocumentETags;
 import de.tum.team_sigma.document_service.service.DocumentService;
+import de.tum.team_sigma.document_service.storage.ContentDispositions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,30 +23,54 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/documents")
 @CrossOrigin(origins = "*", methods = { RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE,
-        RequestMethod.OPTIONS })
+        RequestMethod.OPTIONS }, exposedHeaders = DocumentController.NEXT_CURSOR_HEADER)
 @Tag(name = "Document Management", description = "API for document upload, management, and retrieval")
 public class DocumentController {
 
     private static final Logger logger = LoggerFactory.getLogger(DocumentController.class);
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private DocumentService documentService;
 
+    /**
+     * Default behaviour of {@code /{id}/download}: {@code stream} proxies the bytes through
+     * this service, {@code redirect} answers with a 302 to a pre-signed object store URL and
+     * {@code url} returns the pre-signed URL as JSON.
+     */
+    @Value("${storage.download.mode:stream}")
+    private String defaultDownloadMode;
+
+    /**
+     * How long shared caches (the nginx gateway, browsers) may serve chunks and file
+     * downloads without revalidating. Both are immutable once a document is ingested.
+     */
+    @Value("${http-cache.immutable-max-age:1h}")
+    private Duration immutableMaxAge;
+
     @GetMapping("/health")
     @Operation(summary = "Health check", description = "Check if the document service is running")
     @ApiResponse(responseCode = "200", description = "Service is running")
@@ -77,41 +109,86 @@ public class DocumentController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all documents", description = "Retrieve a list of all documents, optionally filtered by organization")
+    @Operation(summary = "Get all documents", description = "Retrieve one page of documents, optionally filtered by lecture. "
+            + "Pages are ordered by creation time; pass the X-Next-Cursor response header back as cursor to fetch the next page")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Documents retrieved successfully", content = @Content(schema = @Schema(implementation = DocumentResponse.class))),
+            @ApiResponse(responseCode = "200", description = "Documents retrieved successfully", content = @Content(schema = @Schema(implementation = DocumentSummaryResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<DocumentResponse>> getAllDocuments(
-            @Parameter(description = "Lecture ID to filter documents") @RequestParam(value = "lectureId", required = false) String lectureId) {
+    public ResponseEntity<List<DocumentSummaryResponse>> getAllDocuments(
+            @Parameter(description = "Lecture ID to filter documents") @RequestParam(value = "lectureId", required = false) String lectureId,
+            @Parameter(description = "Cursor returned in X-Next-Cursor by the previous page") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "Maximum number of documents to return") @RequestParam(value = "limit", required = false) Integer limit) {
         try {
-            List<DocumentResponse> documents;
+            CursorPage<DocumentSummaryResponse> page;
             if (lectureId != null && !lectureId.trim().isEmpty()) {
-                documents = documentService.getDocumentsByLecture(lectureId);
-                logger.info("Retrieved {} documents for lecture: {}", documents.size(), lectureId);
+                page = documentService.getDocumentsByLecture(lectureId, cursor, limit);
+                logger.info("Retrieved {} documents for lecture: {}", page.getItems().size(), lectureId);
             } else {
-                documents = documentService.getAllDocuments();
-                logger.info("Retrieved {} documents (no lecture filter)", documents.size());
+                page = documentService.getAllDocuments(cursor, limit);
+                logger.info("Retrieved {} documents (no lecture filter)", page.getItems().size());
             }
-            return ResponseEntity.ok(documents);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected document listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Failed to get documents", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping(params = "format=ndjson")
+    @Operation(summary = "Export all documents", description = "Stream every document, optionally filtered by lecture, as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Documents streamed successfully"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> exportDocuments(
+            @Parameter(description = "Lecture ID to filter documents") @RequestParam(value = "lectureId", required = false) String lectureId) {
+        String filter = lectureId != null && !lectureId.trim().isEmpty() ? lectureId : null;
+        StreamingResponseBody body = outputStream -> {
+            long count = documentService.exportDocuments(filter, outputStream);
+            logger.info("Streamed {} documents (lecture filter: {})", count, filter);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get document by ID", description = "Retrieve a specific document by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Document found", content = @Content(schema = @Schema(implementation = DocumentResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Document not modified"),
             @ApiResponse(responseCode = "404", description = "Document not found"),
+            @ApiResponse(responseCode = "503", description = "Buffered conversation messages could not be persisted"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<DocumentResponse> getDocumentById(
-            @Parameter(description = "Document ID", required = true) @PathVariable Long id) {
+            @Parameter(description = "Document ID", required = true) @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Metadata carries the conversation, so caches must always revalidate
+            String eTag = documentService.getDocumentETag(id);
+            if (isNotModified(ifNoneMatch, eTag)) {
+                return notModified(eTag, CacheControl.noCache());
+            }
+
             DocumentResponse document = documentService.getDocumentById(id);
-            return ResponseEntity.ok(document);
+            LocalDateTime lastModified = document.getUpdatedAt() != null ? document.getUpdatedAt() : document.getCreatedAt();
+            return ResponseEntity.ok()
+                    .eTag(DocumentETags.metadata(document.getId(), lastModified))
+                    .cacheControl(CacheControl.noCache())
+                    .body(document);
+        } catch (ConversationFlushException e) {
+            logger.error("Failed to persist buffered conversation messages for document with id: {}", id, e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (RuntimeException e) {
             logger.error("Document not found with id: {}", id);
             return ResponseEntity.notFound().build();
@@ -166,26 +243,50 @@ public class DocumentController {
     }
 
     @GetMapping("/{id}/download")
-    @Operation(summary = "Download document", description = "Download a document file by its ID")
+    @Operation(summary = "Download document", description = "Download a document file by its ID, either streamed through the service or via a pre-signed object store URL")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Document downloaded successfully"),
+            @ApiResponse(responseCode = "200", description = "Document downloaded successfully or pre-signed URL returned", content = @Content(schema = @Schema(implementation = PresignedUrlResponse.class))),
+            @ApiResponse(responseCode = "302", description = "Redirect to a pre-signed object store URL"),
+            @ApiResponse(responseCode = "304", description = "Document not modified"),
             @ApiResponse(responseCode = "404", description = "Document not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<InputStreamResource> downloadDocument(
-            @Parameter(description = "Document ID", required = true) @PathVariable Long id) {
+    public ResponseEntity<?> downloadDocument(
+            @Parameter(description = "Document ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Download mode: stream, redirect or url") @RequestParam(value = "mode", required = false) String mode,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String downloadMode = mode != null ? mode : defaultDownloadMode;
         try {
-            DocumentResponse document = documentService.getDocumentById(id);
-            InputStream inputStream = documentService.downloadDocument(id);
+            if ("redirect".equalsIgnoreCase(downloadMode)) {
+                PresignedUrlResponse presigned = documentService.getPresignedDownloadUrl(id);
+                return ResponseEntity.status(HttpStatus.FOUND)
+                        .location(URI.create(presigned.getUrl()))
+                        .build();
+            }
+            if ("url".equalsIgnoreCase(downloadMode)) {
+                return ResponseEntity.ok(documentService.getPresignedDownloadUrl(id));
+            }
+
+            CacheControl cacheControl = CacheControl.maxAge(immutableMaxAge).cachePublic();
+            String eTag = documentService.getDownloadETag(id);
+            if (isNotModified(ifNoneMatch, eTag)) {
+                return notModified(eTag, cacheControl);
+            }
+
+            DocumentFileInfo document = documentService.getDocumentFileInfo(id);
 
             HttpHeaders headers = new HttpHeaders();
-            headers.add(HttpHeaders.CONTENT_DISPOSITION,
-                    "attachment; filename=\"" + document.getOriginalFilename() + "\"");
+            headers.add(HttpHeaders.CONTENT_DISPOSITION, ContentDispositions.attachment(document.getOriginalFilename()));
             headers.add(HttpHeaders.CONTENT_TYPE, document.getContentType());
+            headers.setContentLength(document.getFileSize());
 
+            // Streamed from the async executor so the servlet thread is released during the transfer
+            StreamingResponseBody body = outputStream -> documentService.streamDocument(id, outputStream);
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(new InputStreamResource(inputStream));
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .body(body);
 
         } catch (RuntimeException e) {
             logger.error("Document not found with id: {}", id);
@@ -196,17 +297,57 @@ public class DocumentController {
         }
     }
 
+    @GetMapping(value = "/{id}/text", produces = "text/plain;charset=UTF-8")
+    @Operation(summary = "Get extracted text", description = "Stream the plain text extracted from a document during ingestion")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Extracted text streamed successfully"),
+            @ApiResponse(responseCode = "304", description = "Extracted text not modified"),
+            @ApiResponse(responseCode = "404", description = "Document not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> getDocumentText(
+            @Parameter(description = "Document ID", required = true) @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            CacheControl cacheControl = CacheControl.maxAge(immutableMaxAge).cachePublic();
+            String eTag = documentService.getTextETag(id);
+            if (isNotModified(ifNoneMatch, eTag)) {
+                return notModified(eTag, cacheControl);
+            }
+
+            // The artifact is stored gzip-compressed, so pass it through untouched when the client accepts that
+            boolean gzip = acceptsGzip(acceptEncoding);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            StreamingResponseBody body = outputStream -> documentService.streamDocumentText(id, outputStream, gzip);
+            return response.body(body);
+
+        } catch (RuntimeException e) {
+            logger.error("Document not found with id: {}", id);
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Failed to get text for document with id: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search documents", description = "Search documents by text query")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = DocumentResponse.class))),
+            @ApiResponse(responseCode = "200", description = "Search completed successfully", content = @Content(schema = @Schema(implementation = DocumentSummaryResponse.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<DocumentResponse>> searchDocuments(
+    public ResponseEntity<List<DocumentSummaryResponse>> searchDocuments(
             @Parameter(description = "Search query", required = true) @RequestParam("q") String query) {
 
         try {
-            List<DocumentResponse> documents = documentService.searchDocuments(query);
+            List<DocumentSummaryResponse> documents = documentService.searchDocuments(query);
             return ResponseEntity.ok(documents);
         } catch (Exception e) {
             logger.error("Failed to search documents with query: {}", query, e);
@@ -237,15 +378,26 @@ public class DocumentController {
     @Operation(summary = "Get all document chunks", description = "Retrieve all chunks for a specific document in order")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Document chunks retrieved successfully", content = @Content(schema = @Schema(implementation = SimilarChunkResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Document chunks not modified"),
             @ApiResponse(responseCode = "404", description = "Document not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<List<SimilarChunkResponse>> getDocumentChunks(
-            @Parameter(description = "Document ID", required = true) @PathVariable Long id) {
+            @Parameter(description = "Document ID", required = true) @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
         try {
+            CacheControl cacheControl = CacheControl.maxAge(immutableMaxAge).cachePublic();
+            String eTag = documentService.getChunksETag(id);
+            if (isNotModified(ifNoneMatch, eTag)) {
+                return notModified(eTag, cacheControl);
+            }
+
             List<SimilarChunkResponse> chunks = documentService.getAllDocumentChunks(id);
-            return ResponseEntity.ok(chunks);
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(cacheControl)
+                    .body(chunks);
         } catch (RuntimeException e) {
             logger.error("Document not found with id: {}", id);
             return ResponseEntity.notFound().build();
@@ -273,6 +425,28 @@ public class DocumentController {
         }
     }
 
+    @GetMapping("/lecture-stats")
+    @Operation(summary = "Get document stats per lecture", description = "Document count, total size, chunk count and last change "
+            + "for each requested lecture, in request order; lectures without documents report zeros")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many lectures requested"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<LectureDocumentStatsResponse>> getLectureStats(
+            @Parameter(description = "Lecture IDs, repeated or comma-separated", required = true)
+            @RequestParam("lectureIds") List<String> lectureIds) {
+        try {
+            return ResponseEntity.ok(documentService.getLectureStats(lectureIds));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected lecture stats request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Failed to get lecture stats", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @DeleteMapping("/lecture/{lectureId}")
     @Operation(summary = "Delete all documents for a lecture", description = "Delete all documents associated with a specific lecture")
     @ApiResponses(value = {
@@ -293,16 +467,48 @@ public class DocumentController {
         }
     }
 
+    @GetMapping("/{id}/conversation")
+    @Operation(summary = "Get document conversation", description = "Retrieve the most recent messages of the document's conversation, oldest first. "
+            + "Pass nextBefore from the response as before to page further back")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conversation retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Document not found"),
+            @ApiResponse(responseCode = "503", description = "Buffered conversation messages could not be persisted"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<Map<String, Object>> getConversation(
+            @Parameter(description = "Document ID", required = true) @PathVariable Long id,
+            @Parameter(description = "Only return messages with a lower message index") @RequestParam(value = "before", required = false) Integer before,
+            @Parameter(description = "Maximum number of messages to return") @RequestParam(value = "limit", required = false) Integer limit) {
+
+        try {
+            return ResponseEntity.ok(documentService.getConversation(id, before, limit));
+        } catch (ConversationFlushException e) {
+            logger.error("Failed to persist buffered conversation messages for document with id: {}", id, e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (RuntimeException e) {
+            logger.error("Document not found with id: {}", id);
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Failed to get conversation for document with id: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PostMapping("/{id}/conversation")
     @Operation(summary = "Add message to conversation", description = "Add a message to the document's conversation")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Message added successfully"),
+            @ApiResponse(responseCode = "200", description = "Message persisted"),
+            @ApiResponse(responseCode = "202", description = "Message accepted into the write-behind buffer"),
+            @ApiResponse(responseCode = "400", description = "Missing content, invalid message type or durability"),
             @ApiResponse(responseCode = "404", description = "Document not found"),
+            @ApiResponse(responseCode = "503", description = "Buffered conversation messages could not be persisted"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<Map<String, Object>> addMessageToConversation(
             @Parameter(description = "Document ID", required = true) @PathVariable Long id,
-            @Parameter(description = "Message content", required = true) @RequestBody Map<String, Object> messageRequest) {
+            @Parameter(description = "Message content", required = true) @RequestBody Map<String, Object> messageRequest,
+            @Parameter(description = "buffered to acknowledge once queued, sync to wait until persisted") @RequestParam(value = "durability", required = false) String durability) {
 
         try {
             String messageType = (String) messageRequest.get("messageType");
@@ -312,8 +518,15 @@ public class DocumentController {
                 return ResponseEntity.badRequest().build();
             }
 
-            Map<String, Object> conversation = documentService.addMessageToConversation(id, messageType, content);
-            return ResponseEntity.ok(conversation);
+            Map<String, Object> message = documentService.addMessageToConversation(id, messageType, content, durability);
+            HttpStatus status = "buffered".equals(message.get("status")) ? HttpStatus.ACCEPTED : HttpStatus.OK;
+            return ResponseEntity.status(status).body(message);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected conversation message for document {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (ConversationFlushException e) {
+            logger.error("Failed to persist buffered conversation messages for document with id: {}", id, e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (RuntimeException e) {
             logger.error("Document not found with id: {}", id);
             return ResponseEntity.notFound().build();
@@ -328,6 +541,7 @@ public class DocumentController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Conversation cleared successfully"),
             @ApiResponse(responseCode = "404", description = "Document not found"),
+            @ApiResponse(responseCode = "503", description = "Buffered conversation messages could not be persisted"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<Map<String, Object>> clearDocumentConversation(
@@ -336,6 +550,9 @@ public class DocumentController {
         try {
             Map<String, Object> response = documentService.clearDocumentConversation(id);
             return ResponseEntity.ok(response);
+        } catch (ConversationFlushException e) {
+            logger.error("Failed to persist buffered conversation messages for document with id: {}", id, e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (RuntimeException e) {
             logger.error("Document not found with id: {}", id);
             return ResponseEntity.notFound().build();
@@ -344,4 +561,61 @@ public class DocumentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
+
+    private static boolean isNotModified(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip: an explicit gzip entry decides by its quality value,
+     * otherwise a wildcard does, so {@code gzip;q=0} and {@code *;q=0} refuse it.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+}
\ No newline at end of file
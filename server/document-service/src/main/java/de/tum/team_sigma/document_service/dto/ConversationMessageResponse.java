@@ -0,0 +1,54 @@
+package de.tum.team_sigma.document_service.dto;
+
+import de.tum.team_sigma.document_service.model.ConversationMessage;
+import java.time.LocalDateTime;
+
+public class ConversationMessageResponse {
+    
+    private Integer messageIndex;
+    private ConversationMessage.MessageType messageType;
+    private String content;
+    private LocalDateTime createdAt;
+    
+    public ConversationMessageResponse() {}
+    
+    public ConversationMessageResponse(ConversationMessage message) {
+        this.messageIndex = message.getMessageIndex();
+        this.messageType = message.getMessageType();
+        this.content = message.getContent();
+        this.createdAt = message.getCreatedAt();
+    }
+    
+    // Getters and Setters
+    public Integer getMessageIndex() {
+        return messageIndex;
+    }
+    
+    public void setMessageIndex(Integer messageIndex) {
+        this.messageIndex = messageIndex;
+    }
+    
+    public ConversationMessage.MessageType getMessageType() {
+        return messageType;
+    }
+    
+    public void setMessageType(ConversationMessage.MessageType messageType) {
+        this.messageType = messageType;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,40 @@
+package de.tum.team_sigma.document_service.dto;
+
+/** Headers of a file download: the stored file's name, type and size, nothing else of the document. */
+public class DocumentFileInfo {
+    private String originalFilename;
+    private String contentType;
+    private Long fileSize;
+
+    public DocumentFileInfo() {}
+
+    public DocumentFileInfo(String originalFilename, String contentType, Long fileSize) {
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.fileSize = fileSize;
+    }
+
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+}
@@ -2,6 +2,7 @@ package de.tum.team_sigma.document_service.dto;
 
 import de.tum.team_sigma.document_service.model.Document;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public class DocumentResponse {
@@ -16,11 +17,19 @@ public class DocumentResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private int chunkCount;
-    private List<Document.ConversationMessage> conversation;
+    private List<ConversationMessageResponse> conversation;
     
     public DocumentResponse() {}
     
     public DocumentResponse(Document document) {
+        this(document, document.getChunks() != null ? document.getChunks().size() : 0);
+    }
+    
+    public DocumentResponse(Document document, long chunkCount) {
+        this(document, chunkCount, new ArrayList<>());
+    }
+    
+    public DocumentResponse(Document document, long chunkCount, List<ConversationMessageResponse> conversation) {
         this.id = document.getId();
         this.name = document.getName();
         this.originalFilename = document.getOriginalFilename();
@@ -30,8 +39,8 @@ public class DocumentResponse {
         this.lectureId = document.getLectureId();
         this.createdAt = document.getCreatedAt();
         this.updatedAt = document.getUpdatedAt();
-        this.chunkCount = document.getChunks() != null ? document.getChunks().size() : 0;
-        this.conversation = document.getConversation();
+        this.chunkCount = (int) chunkCount;
+        this.conversation = conversation;
     }
     
     // Getters and Setters
@@ -115,11 +124,11 @@ public class DocumentResponse {
         this.chunkCount = chunkCount;
     }
     
-    public List<Document.ConversationMessage> getConversation() {
+    public List<ConversationMessageResponse> getConversation() {
         return conversation;
     }
     
-    public void setConversation(List<Document.ConversationMessage> conversation) {
+    public void setConversation(List<ConversationMessageResponse> conversation) {
         this.conversation = conversation;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,119 @@
+package de.tum.team_sigma.document_service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight listing view of a document. Built directly by a JPQL constructor expression,
+ * so listing never loads chunk text or the conversation.
+ */
+public class DocumentSummaryResponse {
+    
+    private Long id;
+    private String name;
+    private String originalFilename;
+    private String contentType;
+    private Long fileSize;
+    private String description;
+    private String lectureId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long chunkCount;
+    
+    public DocumentSummaryResponse() {}
+    
+    public DocumentSummaryResponse(Long id, String name, String originalFilename, String contentType, Long fileSize,
+                                   String description, String lectureId, LocalDateTime createdAt,
+                                   LocalDateTime updatedAt, Long chunkCount) {
+        this.id = id;
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.fileSize = fileSize;
+        this.description = description;
+        this.lectureId = lectureId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.chunkCount = chunkCount != null ? chunkCount : 0;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+    
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public Long getFileSize() {
+        return fileSize;
+    }
+    
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getLectureId() {
+        return lectureId;
+    }
+    
+    public void setLectureId(String lectureId) {
+        this.lectureId = lectureId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public long getChunkCount() {
+        return chunkCount;
+    }
+    
+    public void setChunkCount(long chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,67 @@
+package de.tum.team_sigma.document_service.dto;
+
+import java.time.LocalDateTime;
+
+public class LectureDocumentStatsResponse {
+    private String lectureId;
+    private long documentCount;
+    private long totalBytes;
+    private long chunkCount;
+    private LocalDateTime lastUpdatedAt;
+
+    public LectureDocumentStatsResponse() {}
+
+    public LectureDocumentStatsResponse(String lectureId, long documentCount, long totalBytes, long chunkCount,
+                                        LocalDateTime lastUpdatedAt) {
+        this.lectureId = lectureId;
+        this.documentCount = documentCount;
+        this.totalBytes = totalBytes;
+        this.chunkCount = chunkCount;
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    /** Stats of a lecture without documents. */
+    public static LectureDocumentStatsResponse empty(String lectureId) {
+        return new LectureDocumentStatsResponse(lectureId, 0, 0, 0, null);
+    }
+
+    public String getLectureId() {
+        return lectureId;
+    }
+
+    public void setLectureId(String lectureId) {
+        this.lectureId = lectureId;
+    }
+
+    public long getDocumentCount() {
+        return documentCount;
+    }
+
+    public void setDocumentCount(long documentCount) {
+        this.documentCount = documentCount;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    public long getChunkCount() {
+        return chunkCount;
+    }
+
+    public void setChunkCount(long chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+
+    public void setLastUpdatedAt(LocalDateTime lastUpdatedAt) {
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package de.tum.team_sigma.document_service.dto;
+
+import java.time.LocalDateTime;
+
+public class PresignedUrlResponse {
+    private String url;
+    private LocalDateTime expiresAt;
+
+    public PresignedUrlResponse() {}
+
+    public PresignedUrlResponse(String url, LocalDateTime expiresAt) {
+        this.url = url;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,12 @@
+package de.tum.team_sigma.document_service.exception;
+
+/**
+ * Buffered conversation messages of a document could not be persisted, so its conversation
+ * cannot be read consistently. Unlike a missing document, this is a server-side failure.
+ */
+public class ConversationFlushException extends RuntimeException {
+
+    public ConversationFlushException(Long documentId, Throwable cause) {
+        super("Failed to persist buffered conversation messages for document " + documentId, cause);
+    }
+}
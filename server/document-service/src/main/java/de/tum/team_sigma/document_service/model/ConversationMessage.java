@@ -0,0 +1,99 @@
+package de.tum.team_sigma.document_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One turn of the chat attached to a document. Messages are append-only and numbered per
+ * document; the unique (document_id, message_index) index also serves tail reads.
+ */
+@Entity
+@Table(name = "conversation_messages", uniqueConstraints = @UniqueConstraint(
+        name = "uk_conversation_messages_document_index", columnNames = {"document_id", "message_index"}))
+public class ConversationMessage {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "document_id", nullable = false)
+    private Long documentId;
+    
+    @Column(name = "message_index", nullable = false)
+    private Integer messageIndex;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "message_type", nullable = false, length = 16)
+    private MessageType messageType;
+    
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    private String content;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    public enum MessageType {
+        AI, HUMAN
+    }
+    
+    public ConversationMessage() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public ConversationMessage(Long documentId, Integer messageIndex, MessageType messageType, String content) {
+        this();
+        this.documentId = documentId;
+        this.messageIndex = messageIndex;
+        this.messageType = messageType;
+        this.content = content;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getDocumentId() {
+        return documentId;
+    }
+    
+    public void setDocumentId(Long documentId) {
+        this.documentId = documentId;
+    }
+    
+    public Integer getMessageIndex() {
+        return messageIndex;
+    }
+    
+    public void setMessageIndex(Integer messageIndex) {
+        this.messageIndex = messageIndex;
+    }
+    
+    public MessageType getMessageType() {
+        return messageType;
+    }
+    
+    public void setMessageType(MessageType messageType) {
+        this.messageType = messageType;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+} 
\ No newline at end of file
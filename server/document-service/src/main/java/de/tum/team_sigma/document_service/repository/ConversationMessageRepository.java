@@ -0,0 +1,39 @@
+package de.tum.team_sigma.document_service.repository;
+
+import de.tum.team_sigma.document_service.model.ConversationMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ConversationMessageRepository extends JpaRepository<ConversationMessage, Long> {
+    
+    List<ConversationMessage> findByDocumentIdOrderByMessageIndexAsc(Long documentId);
+    
+    @Query("SELECT COALESCE(MAX(m.messageIndex), -1) FROM ConversationMessage m WHERE m.documentId = :documentId")
+    int findMaxMessageIndex(@Param("documentId") Long documentId);
+    
+    // Tail reads walk the (document_id, message_index) index backwards
+    @Query("SELECT m FROM ConversationMessage m WHERE m.documentId = :documentId ORDER BY m.messageIndex DESC")
+    List<ConversationMessage> findLatest(@Param("documentId") Long documentId, Pageable pageable);
+    
+    @Query("SELECT m FROM ConversationMessage m WHERE m.documentId = :documentId AND m.messageIndex < :before "
+            + "ORDER BY m.messageIndex DESC")
+    List<ConversationMessage> findLatestBefore(@Param("documentId") Long documentId,
+                                               @Param("before") int before,
+                                               Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM ConversationMessage m WHERE m.documentId = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+    
+    @Modifying
+    @Query("DELETE FROM ConversationMessage m WHERE m.documentId IN :documentIds")
+    int deleteAllByDocumentIdInBatch(@Param("documentIds") Collection<Long> documentIds);
+} 
\ No newline at end of file
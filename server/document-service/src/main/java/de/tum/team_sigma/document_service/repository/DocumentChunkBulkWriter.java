@@ -0,0 +1,133 @@
+package de.tum.team_sigma.document_service.repository;
+
+import de.tum.team_sigma.document_service.model.DocumentChunk;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Inserts document chunks in bulk, bypassing the JPA persistence context.
+ *
+ * {@link DocumentChunk} ids come from an identity column, which makes Hibernate flush every
+ * entity with its own INSERT. This writer leaves the id to the database default and either
+ * streams all rows through PostgreSQL {@code COPY} or sends them as JDBC batches. It joins
+ * the surrounding transaction, so a failed upload still rolls back its chunks.
+ */
+@Repository
+public class DocumentChunkBulkWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentChunkBulkWriter.class);
+
+    public enum Mode { COPY, BATCH }
+
+    private static final String COLUMNS = "document_id, weaviate_id, chunk_index, chunk_text, created_at";
+    private static final String INSERT_SQL = "INSERT INTO document_chunks (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?)";
+    private static final String COPY_SQL = "COPY document_chunks (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Mode mode;
+    private final int batchSize;
+
+    public DocumentChunkBulkWriter(DataSource dataSource,
+                                   @Value("${document.chunks.bulk-insert-mode:copy}") String mode,
+                                   @Value("${document.chunks.batch-size:1000}") int batchSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.batchSize = batchSize;
+    }
+
+    public void insert(List<DocumentChunk> chunks) {
+        if (chunks.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Mode used = mode == Mode.COPY && supportsCopy() ? Mode.COPY : Mode.BATCH;
+        if (used == Mode.COPY) {
+            copy(chunks);
+        } else {
+            batch(chunks);
+        }
+        logger.debug("Inserted {} chunks via {} in {} ms", chunks.size(), used,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Multi-row JDBC batches; with {@code reWriteBatchedInserts} pgjdbc folds each batch into one statement. */
+    void batch(List<DocumentChunk> chunks) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, chunks, batchSize, (ps, chunk) -> {
+            ps.setLong(1, chunk.getDocument().getId());
+            ps.setString(2, chunk.getWeaviateId());
+            ps.setInt(3, chunk.getChunkIndex());
+            ps.setString(4, chunk.getChunkText());
+            ps.setTimestamp(5, Timestamp.valueOf(chunk.getCreatedAt()));
+        });
+    }
+
+    /** Streams all rows as CSV through a single PostgreSQL {@code COPY ... FROM STDIN}. */
+    void copy(List<DocumentChunk> chunks) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            PGCopyOutputStream copyStream = new PGCopyOutputStream(
+                    connection.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE);
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8));
+                for (DocumentChunk chunk : chunks) {
+                    writer.append(String.valueOf(chunk.getDocument().getId())).append(',')
+                            .append(csv(chunk.getWeaviateId())).append(',')
+                            .append(String.valueOf(chunk.getChunkIndex())).append(',')
+                            .append(csv(chunk.getChunkText())).append(',')
+                            .append(chunk.getCreatedAt().toString()).append('\n');
+                }
+                // Closing the writer ends the COPY and reports any row the server rejected
+                writer.close();
+            } catch (IOException | RuntimeException e) {
+                if (copyStream.isActive()) {
+                    copyStream.cancelCopy();
+                }
+                throw e;
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Failed to copy " + chunks.size() + " document chunks", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private boolean supportsCopy() {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.isWrapperFor(PGConnection.class);
+        } catch (SQLException e) {
+            return false;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+} 
\ No newline at end of file
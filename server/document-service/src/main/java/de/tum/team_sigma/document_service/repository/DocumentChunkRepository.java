@@ -2,8 +2,12 @@ package de.tum.team_sigma.document_service.repository;
 
 import de.tum.team_sigma.document_service.model.DocumentChunk;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,5 +20,9 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, Lo
     
     void deleteByDocumentId(Long documentId);
     
+    @Modifying
+    @Query("DELETE FROM DocumentChunk c WHERE c.document.id IN :documentIds")
+    int deleteAllByDocumentIdInBatch(@Param("documentIds") Collection<Long> documentIds);
+    
     long countByDocumentId(Long documentId);
 } 
\ No newline at end of file
@@ -1,28 +1,113 @@
 package de.tum.team_sigma.document_service.repository;
 
+import de.tum.team_sigma.document_service.dto.DocumentFileInfo;
+import de.tum.team_sigma.document_service.dto.DocumentSummaryResponse;
 import de.tum.team_sigma.document_service.model.Document;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
     
+    // Listing projection: chunk counts come from an aggregate, chunk text and conversation are never read
+    String SUMMARY_SELECT = "SELECT new de.tum.team_sigma.document_service.dto.DocumentSummaryResponse("
+            + "d.id, d.name, d.originalFilename, d.contentType, d.fileSize, d.description, d.lectureId, "
+            + "d.createdAt, d.updatedAt, (SELECT COUNT(c) FROM DocumentChunk c WHERE c.document.id = d.id)) "
+            + "FROM Document d ";
+    
+    // Keyset pagination: (createdAt, id) is unique and stable, so pages never skip or repeat rows
+    String KEYSET_AFTER = "(d.createdAt > :createdAt OR (d.createdAt = :createdAt AND d.id > :id)) ";
+    String KEYSET_ORDER = "ORDER BY d.createdAt ASC, d.id ASC";
+    
+    String STREAM_FETCH_SIZE = "500";
+    
+    // Regions are local to each replica and not invalidated by writes on the others, so reads
+    // that decide what to write or delete skip them
+    String CACHE_BYPASS = "BYPASS";
+    
     Optional<Document> findByName(String name);
     
     List<Document> findByNameContainingIgnoreCase(String name);
     
     List<Document> findByContentType(String contentType);
     
-    List<Document> findByLectureId(String lectureId);
+    // Lecture deletion: a cached id list could miss documents uploaded through another replica
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = CACHE_BYPASS))
+    @Query("SELECT d FROM Document d WHERE d.lectureId = :lectureId")
+    List<Document> findAllByLectureIdUncached(@Param("lectureId") String lectureId);
+    
+    @Query(SUMMARY_SELECT + KEYSET_ORDER)
+    List<DocumentSummaryResponse> findSummariesPage(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<DocumentSummaryResponse> findSummariesPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE d.lectureId = :lectureId " + KEYSET_ORDER)
+    List<DocumentSummaryResponse> findSummariesPageByLectureId(@Param("lectureId") String lectureId, Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE d.lectureId = :lectureId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<DocumentSummaryResponse> findSummariesPageByLectureIdAfter(@Param("lectureId") String lectureId,
+                                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                                    @Param("id") Long id,
+                                                                    Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + KEYSET_ORDER)
+    Stream<DocumentSummaryResponse> streamAllSummaries();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + "WHERE d.lectureId = :lectureId " + KEYSET_ORDER)
+    Stream<DocumentSummaryResponse> streamSummariesByLectureId(@Param("lectureId") String lectureId);
+    
+    @Query(SUMMARY_SELECT + "WHERE d.description LIKE %:keyword% OR d.name LIKE %:keyword%")
+    List<DocumentSummaryResponse> searchSummariesByKeyword(@Param("keyword") String keyword);
     
     @Query("SELECT d FROM Document d LEFT JOIN FETCH d.chunks WHERE d.id = :id")
     Optional<Document> findByIdWithChunks(@Param("id") Long id);
     
+    // Not in the query cache: it answers ETag checks, streaming and presigning, and a delete on
+    // another replica would not evict this replica's cached result
+    @Query("SELECT d.minioPath FROM Document d WHERE d.id = :id")
+    Optional<String> findMinioPathById(@Param("id") Long id);
+    
+    // Served with an ETag taken from the same row: read from the database and refresh this
+    // replica's cached copy, which may predate a write made through another replica
+    @QueryHints({
+        @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = CACHE_BYPASS),
+        @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")
+    })
+    @Query("SELECT d FROM Document d WHERE d.id = :id")
+    Optional<Document> findByIdUncached(@Param("id") Long id);
+    
+    @Query("SELECT new de.tum.team_sigma.document_service.dto.DocumentFileInfo(d.originalFilename, d.contentType, d.fileSize) "
+            + "FROM Document d WHERE d.id = :id")
+    Optional<DocumentFileInfo> findFileInfoById(@Param("id") Long id);
+    
+    @Query("SELECT COALESCE(d.updatedAt, d.createdAt) FROM Document d WHERE d.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") Long id);
+    
+    // Row lock that serializes conversation appends for this document. Callers bump updatedAt on the
+    // returned entity rather than with a bulk UPDATE, which would evict the whole cache region.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Document d WHERE d.id = :id")
+    Optional<Document> findByIdForUpdate(@Param("id") Long id);
+    
     @Query("SELECT d FROM Document d WHERE d.description LIKE %:keyword% OR d.name LIKE %:keyword%")
     List<Document> searchByKeyword(@Param("keyword") String keyword);
 } 
\ No newline at end of file
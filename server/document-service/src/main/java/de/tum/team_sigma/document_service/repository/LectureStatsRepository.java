@@ -0,0 +1,113 @@
+package de.tum.team_sigma.document_service.repository;
+
+import de.tum.team_sigma.document_service.dto.LectureDocumentStatsResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to {@code lecture_document_stats}, the per-lecture rollup of documents. The
+ * counters are adjusted in the same transaction that writes or deletes documents, so they
+ * change together with the rows they summarize. Concurrent uploads to one lecture serialize
+ * briefly on its row.
+ */
+@Repository
+public class LectureStatsRepository {
+
+    private static final String UPLOAD_SQL = """
+            INSERT INTO lecture_document_stats AS s (lecture_id, document_count, total_bytes, chunk_count, last_updated_at)
+            VALUES (?, 1, ?, ?, now())
+            ON CONFLICT (lecture_id) DO UPDATE SET
+                document_count = s.document_count + 1,
+                total_bytes = s.total_bytes + EXCLUDED.total_bytes,
+                chunk_count = s.chunk_count + EXCLUDED.chunk_count,
+                last_updated_at = now()
+            """;
+
+    // Must run before the documents and their chunk rows are deleted
+    private static final String DELETION_SQL = """
+            WITH removed AS (
+                SELECT d.lecture_id, COUNT(*) AS documents, SUM(d.file_size) AS bytes, COALESCE(SUM(c.chunks), 0) AS chunks
+                FROM documents d
+                LEFT JOIN (SELECT document_id, COUNT(*) AS chunks FROM document_chunks
+                           WHERE document_id = ANY(?) GROUP BY document_id) c ON c.document_id = d.id
+                WHERE d.id = ANY(?) AND d.lecture_id IS NOT NULL
+                GROUP BY d.lecture_id
+            )
+            UPDATE lecture_document_stats s SET
+                document_count = s.document_count - r.documents,
+                total_bytes = s.total_bytes - r.bytes,
+                chunk_count = s.chunk_count - r.chunks,
+                last_updated_at = now()
+            FROM removed r
+            WHERE s.lecture_id = r.lecture_id
+            RETURNING s.lecture_id
+            """;
+
+    private static final String DROP_EMPTY_SQL = "DELETE FROM lecture_document_stats WHERE document_count <= 0 AND lecture_id = ANY(?)";
+
+    private static final String FIND_SQL = "SELECT lecture_id, document_count, total_bytes, chunk_count, last_updated_at "
+            + "FROM lecture_document_stats WHERE lecture_id = ANY(?)";
+
+    private static final RowMapper<LectureDocumentStatsResponse> STATS_MAPPER = (rs, rowNum) -> {
+        Timestamp lastUpdatedAt = rs.getTimestamp("last_updated_at");
+        return new LectureDocumentStatsResponse(
+                rs.getString("lecture_id"),
+                rs.getLong("document_count"),
+                rs.getLong("total_bytes"),
+                rs.getLong("chunk_count"),
+                lastUpdatedAt != null ? lastUpdatedAt.toLocalDateTime() : null);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LectureStatsRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /** Counts a newly stored document; joins the caller's transaction. */
+    public void recordUpload(String lectureId, long bytes, long chunks) {
+        jdbcTemplate.update(UPLOAD_SQL, lectureId, bytes, chunks);
+    }
+
+    /** Subtracts the given documents from their lectures' totals; call before deleting them. */
+    public void recordDeletion(Collection<Long> documentIds) {
+        if (documentIds.isEmpty()) {
+            return;
+        }
+        Long[] ids = documentIds.toArray(Long[]::new);
+        List<String> lectureIds = jdbcTemplate.query(DELETION_SQL, ps -> {
+            Array array = ps.getConnection().createArrayOf("bigint", ids);
+            ps.setArray(1, array);
+            ps.setArray(2, array);
+        }, (rs, rowNum) -> rs.getString(1));
+        if (!lectureIds.isEmpty()) {
+            jdbcTemplate.update(DROP_EMPTY_SQL, ps -> ps.setArray(1, textArray(ps.getConnection(), lectureIds)));
+        }
+    }
+
+    /** Marks the lecture's documents as changed without altering the counters. */
+    public void touch(String lectureId) {
+        jdbcTemplate.update("UPDATE lecture_document_stats SET last_updated_at = now() WHERE lecture_id = ?", lectureId);
+    }
+
+    /** Stats of those lectures that have documents; lectures without a row are left out. */
+    public List<LectureDocumentStatsResponse> findByLectureIds(Collection<String> lectureIds) {
+        if (lectureIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_SQL, ps -> ps.setArray(1, textArray(ps.getConnection(), lectureIds)), STATS_MAPPER);
+    }
+
+    private static Array textArray(Connection connection, Collection<String> values) throws SQLException {
+        return connection.createArrayOf("varchar", values.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,104 @@
+package de.tum.team_sigma.document_service.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC access to the {@code vector_outbox} table, which records Weaviate writes that still have
+ * to happen. Entries are written in the same transaction as the rows they describe and removed
+ * once the relay has applied them.
+ *
+ * Claiming works with a lease instead of a held transaction: a claimed entry's
+ * {@code next_attempt_at} is pushed past the lease, so other relays skip it, and an entry
+ * whose relay died becomes claimable again when the lease runs out.
+ */
+@Repository
+public class VectorOutboxRepository {
+
+    public enum Operation { INDEX, DELETE }
+
+    public record Entry(long id, long documentId, Operation operation, int attempts, LocalDateTime createdAt) {
+    }
+
+    public record Chunk(String weaviateId, int chunkIndex, String text) {
+    }
+
+    private static final String INSERT_SQL = "INSERT INTO vector_outbox "
+            + "(document_id, operation, attempts, created_at, next_attempt_at) VALUES (?, ?, 0, now(), now())";
+
+    // Entries for a document are relayed strictly in order: an entry waits while an earlier live
+    // one exists, so a delete can never overtake the index it is meant to undo
+    private static final String CLAIM_SQL = """
+            UPDATE vector_outbox o
+            SET next_attempt_at = now() + make_interval(secs => ?)
+            WHERE o.id IN (
+                SELECT c.id FROM vector_outbox c
+                WHERE c.failed_at IS NULL
+                  AND c.next_attempt_at <= now()
+                  AND NOT EXISTS (SELECT 1 FROM vector_outbox p
+                                  WHERE p.document_id = c.document_id AND p.id < c.id AND p.failed_at IS NULL)
+                ORDER BY c.id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING o.id, o.document_id, o.operation, o.attempts, o.created_at
+            """;
+
+    private static final String RETRY_SQL = "UPDATE vector_outbox SET attempts = attempts + 1, last_error = ?, "
+            + "next_attempt_at = now() + make_interval(secs => ?), "
+            + "failed_at = CASE WHEN attempts + 1 >= ? THEN now() END WHERE id = ?";
+
+    private static final String CHUNKS_SQL = "SELECT weaviate_id, chunk_index, chunk_text FROM document_chunks "
+            + "WHERE document_id = ? ORDER BY chunk_index";
+
+    private static final RowMapper<Entry> ENTRY_MAPPER = (rs, rowNum) -> new Entry(
+            rs.getLong("id"),
+            rs.getLong("document_id"),
+            Operation.valueOf(rs.getString("operation")),
+            rs.getInt("attempts"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VectorOutboxRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /** Records one operation per document; joins the caller's transaction. */
+    public void enqueue(Operation operation, Collection<Long> documentIds) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, documentIds, documentIds.size(), (ps, documentId) -> {
+            ps.setLong(1, documentId);
+            ps.setString(2, operation.name());
+        });
+    }
+
+    /** Leases up to {@code limit} due entries, oldest first. */
+    public List<Entry> claim(int limit, Duration lease) {
+        return jdbcTemplate.query(CLAIM_SQL, ENTRY_MAPPER, lease.toSeconds(), limit);
+    }
+
+    public void complete(Collection<Long> ids) {
+        jdbcTemplate.batchUpdate("DELETE FROM vector_outbox WHERE id = ?", ids, ids.size(),
+                (ps, id) -> ps.setLong(1, id));
+    }
+
+    /** Schedules another attempt after {@code backoff}, or parks the entry once {@code maxAttempts} is reached. */
+    public void retry(long id, String error, Duration backoff, int maxAttempts) {
+        jdbcTemplate.update(RETRY_SQL, error, backoff.toSeconds(), maxAttempts, id);
+    }
+
+    /**
+     * Reads the chunk rows to index. Runs outside any read-only transaction so it is served by
+     * the primary; a lagging replica could miss chunks committed a moment ago.
+     */
+    public List<Chunk> findChunks(long documentId) {
+        return jdbcTemplate.query(CHUNKS_SQL, (rs, rowNum) -> new Chunk(
+                rs.getString("weaviate_id"), rs.getInt("chunk_index"), rs.getString("chunk_text")), documentId);
+    }
+}
@@ -0,0 +1,481 @@
+package de.tum.team_sigma.document_service.service;
+
+import de.tum.team_sigma.document_service.dto.ConversationMessageResponse;
+import de.tum.team_sigma.document_service.exception.ConversationFlushException;
+import de.tum.team_sigma.document_service.model.ConversationMessage;
+import de.tum.team_sigma.document_service.model.Document;
+import de.tum.team_sigma.document_service.repository.ConversationMessageRepository;
+import de.tum.team_sigma.document_service.repository.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for conversation appends. Messages are queued per document and a
+ * background flush writes everything queued during the last window in one transaction:
+ * one row lock and index lookup per document, then a single JDBC batch insert for all rows.
+ *
+ * Callers get a future that completes once their message is persisted, so they can choose
+ * between acknowledging immediately and waiting. Reads of a conversation call
+ * {@link #flush(Long)} first, which keeps the buffer invisible to clients of this instance.
+ * When the buffer is full, or after shutdown has started, appends are written through together
+ * with the messages already queued for the same document.
+ *
+ * A failed batch is retried one document at a time, so a message the database rejects only
+ * holds back its own document. That document is retried with exponential backoff; after
+ * {@code max-attempts} its messages are written one by one and those that still fail are dropped.
+ */
+@Component
+public class ConversationWriteBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConversationWriteBuffer.class);
+
+    private static final String INSERT_SQL = "INSERT INTO conversation_messages "
+            + "(document_id, message_index, message_type, content, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final DocumentRepository documentRepository;
+    private final ConversationMessageRepository conversationMessageRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    // Pending messages per document in arrival order; guarded by pendingLock
+    private final Map<Long, List<PendingMessage>> pending = new LinkedHashMap<>();
+    private final ReentrantLock pendingLock = new ReentrantLock();
+    private int pendingCount;
+    // Documents whose last flush failed; guarded by pendingLock
+    private final Map<Long, Retry> retries = new HashMap<>();
+    private volatile boolean closed;
+
+    // Serializes flushes so a later batch for a document never commits before an earlier one
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "conversation-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer flushTimer;
+    private final Timer lagTimer;
+    private final DistributionSummary batchSize;
+    private final Counter flushFailures;
+    private final Counter dropped;
+
+    public ConversationWriteBuffer(DocumentRepository documentRepository,
+                                   ConversationMessageRepository conversationMessageRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${conversation.write-behind.window:50ms}") Duration window,
+                                   @Value("${conversation.write-behind.max-pending:10000}") int maxPending,
+                                   @Value("${conversation.write-behind.max-attempts:8}") int maxAttempts,
+                                   @Value("${conversation.write-behind.initial-backoff:1s}") Duration initialBackoff) {
+        this.documentRepository = documentRepository;
+        this.conversationMessageRepository = conversationMessageRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+
+        // Flushes triggered from a read must not join (or be rolled back with) the reader's transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.flushTimer = Timer.builder("conversation.buffer.flush")
+                .description("Time to persist one batch of buffered conversation messages")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("conversation.buffer.lag")
+                .description("Time between accepting a conversation message and persisting it")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("conversation.buffer.batch.size")
+                .description("Conversation messages persisted per flush")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("conversation.buffer.flush.failures")
+                .description("Flushes that failed and were retried")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("conversation.buffer.dropped")
+                .description("Conversation messages dropped after their last flush attempt failed")
+                .register(meterRegistry);
+        Gauge.builder("conversation.buffer.pending", this, ConversationWriteBuffer::pendingCount)
+                .description("Conversation messages accepted but not yet persisted")
+                .register(meterRegistry);
+
+        long windowMillis = Math.max(1, window.toMillis());
+        flusher.scheduleWithFixedDelay(this::flushAllQuietly, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a message for the given document. The returned future completes with the stored
+     * message, including its index, once it has been committed.
+     */
+    public CompletableFuture<ConversationMessageResponse> append(Long documentId, ConversationMessage.MessageType type,
+                                                                 String content) {
+        PendingMessage message = new PendingMessage(documentId, type, content);
+
+        boolean buffered = false;
+        pendingLock.lock();
+        try {
+            if (!closed && pendingCount < maxPending) {
+                pending.computeIfAbsent(documentId, id -> new ArrayList<>()).add(message);
+                pendingCount++;
+                buffered = true;
+            }
+        } finally {
+            pendingLock.unlock();
+        }
+
+        if (!buffered) {
+            // Full or shutting down: write this document's queued messages and the new one in one
+            // commit, so per-document order is kept and other documents' failures stay out of it
+            flushLock.lock();
+            try {
+                List<PendingMessage> messages = new ArrayList<>();
+                pendingLock.lock();
+                try {
+                    List<PendingMessage> queued = pending.remove(documentId);
+                    if (queued != null) {
+                        messages.addAll(queued);
+                        pendingCount -= queued.size();
+                    }
+                    retries.remove(documentId);
+                } finally {
+                    pendingLock.unlock();
+                }
+                messages.add(message);
+                writeThrough(documentId, messages);
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        return message.future;
+    }
+
+    // Never throws: a failure completes every message's future exceptionally instead
+    private void writeThrough(Long documentId, List<PendingMessage> messages) {
+        try {
+            commit(Map.of(documentId, messages));
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            logger.error("Failed to write through {} conversation messages for document {}", messages.size(), documentId, e);
+            fail(messages, new ConversationFlushException(documentId, e));
+        }
+    }
+
+    /**
+     * Persists anything still queued for one document, typically right before reading it.
+     * Throws {@link ConversationFlushException} if that fails, or if the document is waiting
+     * out the backoff of an earlier failure, since the conversation would be incomplete.
+     */
+    public void flush(Long documentId) {
+        if (!hasPending(documentId)) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            List<PendingMessage> messages;
+            pendingLock.lock();
+            try {
+                Retry retry = retries.get(documentId);
+                if (retry != null && !retry.due() && !closed) {
+                    throw new ConversationFlushException(documentId, retry.cause);
+                }
+                messages = pending.remove(documentId);
+                if (messages != null) {
+                    pendingCount -= messages.size();
+                }
+            } finally {
+                pendingLock.unlock();
+            }
+            if (messages != null) {
+                persist(Map.of(documentId, messages));
+            }
+        } catch (ConversationFlushException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ConversationFlushException(documentId, e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Persists everything queued so far, except documents still backing off after a failure. */
+    public void flushAll() {
+        flushLock.lock();
+        try {
+            Map<Long, List<PendingMessage>> batch = new LinkedHashMap<>();
+            pendingLock.lock();
+            try {
+                pending.entrySet().removeIf(entry -> {
+                    Retry retry = retries.get(entry.getKey());
+                    if (retry != null && !retry.due() && !closed) {
+                        return false;
+                    }
+                    batch.put(entry.getKey(), entry.getValue());
+                    pendingCount -= entry.getValue().size();
+                    return true;
+                });
+            } finally {
+                pendingLock.unlock();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            persist(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        closed = true;
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+
+        double remaining = pendingCount();
+        try {
+            flushAll();
+            logger.info("Drained {} buffered conversation messages on shutdown", (long) remaining);
+        } catch (RuntimeException e) {
+            logger.error("Failed to drain conversation write buffer on shutdown; {} messages lost", (long) remaining, e);
+        }
+    }
+
+    private void flushAllQuietly() {
+        try {
+            flushAll();
+        } catch (RuntimeException e) {
+            // persist() has already re-queued the failed documents for a later tick
+            logger.warn("Conversation write-behind flush failed, will retry", e);
+        }
+    }
+
+    /**
+     * Writes one batch. Documents are locked in id order so concurrent flushes from several
+     * replicas cannot deadlock. Messages for documents deleted in the meantime are dropped.
+     * If the transaction fails, each document of a queued batch is written separately and the
+     * ones that fail again are scheduled for retry. After shutdown has started the batch's
+     * messages fail instead. The first failure is rethrown.
+     */
+    private void persist(Map<Long, List<PendingMessage>> batch) {
+        Map<Long, List<PendingMessage>> ordered = new TreeMap<>(batch);
+        try {
+            commit(ordered);
+            return;
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            if (closed) {
+                ordered.values().forEach(messages -> fail(messages, e));
+                throw e;
+            }
+            if (ordered.size() == 1) {
+                ordered.forEach((documentId, messages) -> retryLater(documentId, messages, e));
+                throw e;
+            }
+            logger.warn("Conversation write-behind batch of {} documents failed, writing them separately",
+                    ordered.size(), e);
+        }
+
+        RuntimeException failure = null;
+        for (Map.Entry<Long, List<PendingMessage>> entry : ordered.entrySet()) {
+            try {
+                commit(Map.of(entry.getKey(), entry.getValue()));
+            } catch (RuntimeException e) {
+                flushFailures.increment();
+                retryLater(entry.getKey(), entry.getValue(), e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void commit(Map<Long, List<PendingMessage>> batch) {
+        int messageCount = batch.values().stream().mapToInt(List::size).sum();
+        Timer.Sample sample = Timer.start();
+
+        List<PendingMessage> stored = transactionTemplate.execute(status -> write(batch));
+
+        sample.stop(flushTimer);
+        batchSize.record(messageCount);
+        clearRetries(batch.keySet());
+        long now = System.nanoTime();
+        for (PendingMessage message : stored) {
+            lagTimer.record(now - message.acceptedAt, TimeUnit.NANOSECONDS);
+            message.future.complete(message.toResponse());
+        }
+    }
+
+    /**
+     * Puts a document's messages back at the front of the queue with a doubled backoff. After
+     * the last attempt they are written one by one, so only the messages the database rejects
+     * are dropped.
+     */
+    private void retryLater(Long documentId, List<PendingMessage> messages, RuntimeException cause) {
+        int attempts;
+        pendingLock.lock();
+        try {
+            Retry previous = retries.get(documentId);
+            attempts = (previous != null ? previous.attempts : 0) + 1;
+            if (attempts < maxAttempts) {
+                long backoffNanos = initialBackoff.toNanos() << Math.min(attempts - 1, 20);
+                retries.put(documentId, new Retry(attempts, System.nanoTime() + backoffNanos, cause));
+                requeue(Map.of(documentId, messages));
+                return;
+            }
+            retries.remove(documentId);
+        } finally {
+            pendingLock.unlock();
+        }
+
+        for (PendingMessage message : messages) {
+            try {
+                commit(Map.of(documentId, List.of(message)));
+            } catch (RuntimeException e) {
+                logger.error("Dropping conversation message for document {} after {} attempts", documentId, attempts, e);
+                dropped.increment();
+                message.future.completeExceptionally(new ConversationFlushException(documentId, e));
+            }
+        }
+    }
+
+    private void clearRetries(Iterable<Long> documentIds) {
+        pendingLock.lock();
+        try {
+            documentIds.forEach(retries::remove);
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    private static void fail(List<PendingMessage> messages, RuntimeException cause) {
+        messages.forEach(message -> message.future.completeExceptionally(cause));
+    }
+
+    private List<PendingMessage> write(Map<Long, List<PendingMessage>> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingMessage> rows = new ArrayList<>();
+        for (Map.Entry<Long, List<PendingMessage>> entry : batch.entrySet()) {
+            Long documentId = entry.getKey();
+            Optional<Document> document = documentRepository.findByIdForUpdate(documentId);
+            if (document.isEmpty()) {
+                logger.warn("Dropping {} buffered messages for deleted document {}", entry.getValue().size(), documentId);
+                entry.getValue().forEach(message -> message.future.completeExceptionally(
+                        new RuntimeException("Document not found with id: " + documentId)));
+                continue;
+            }
+            document.get().setUpdatedAt(now);
+            int nextIndex = conversationMessageRepository.findMaxMessageIndex(documentId) + 1;
+            for (PendingMessage message : entry.getValue()) {
+                message.messageIndex = nextIndex++;
+                rows.add(message);
+            }
+        }
+        if (rows.isEmpty()) {
+            return rows;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, message) -> {
+            ps.setLong(1, message.documentId);
+            ps.setInt(2, message.messageIndex);
+            ps.setString(3, message.messageType.name());
+            ps.setString(4, message.content);
+            ps.setTimestamp(5, Timestamp.valueOf(message.createdAt));
+        });
+        return rows;
+    }
+
+    private void requeue(Map<Long, List<PendingMessage>> batch) {
+        pendingLock.lock();
+        try {
+            Map<Long, List<PendingMessage>> merged = new LinkedHashMap<>();
+            batch.forEach((documentId, messages) -> merged.put(documentId, new ArrayList<>(messages)));
+            pending.forEach((documentId, messages) ->
+                    merged.computeIfAbsent(documentId, id -> new ArrayList<>()).addAll(messages));
+            pending.clear();
+            pending.putAll(merged);
+            pendingCount = merged.values().stream().mapToInt(List::size).sum();
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    private boolean hasPending(Long documentId) {
+        pendingLock.lock();
+        try {
+            return pending.containsKey(documentId);
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    private double pendingCount() {
+        pendingLock.lock();
+        try {
+            return pendingCount;
+        } finally {
+            pendingLock.unlock();
+        }
+    }
+
+    private record Retry(int attempts, long notBefore, RuntimeException cause) {
+        private boolean due() {
+            return System.nanoTime() - notBefore >= 0;
+        }
+    }
+
+    private static final class PendingMessage {
+        private final Long documentId;
+        private final ConversationMessage.MessageType messageType;
+        private final String content;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final long acceptedAt = System.nanoTime();
+        private final CompletableFuture<ConversationMessageResponse> future = new CompletableFuture<>();
+        private Integer messageIndex;
+
+        private PendingMessage(Long documentId, ConversationMessage.MessageType messageType, String content) {
+            this.documentId = documentId;
+            this.messageType = messageType;
+            this.content = content;
+        }
+
+        private ConversationMessageResponse toResponse() {
+            ConversationMessage message = new ConversationMessage(documentId, messageIndex, messageType, content);
+            message.setCreatedAt(createdAt);
+            return new ConversationMessageResponse(message);
+        }
+    }
+}
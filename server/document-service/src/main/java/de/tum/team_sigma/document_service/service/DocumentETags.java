@@ -0,0 +1,43 @@
+package de.tum.team_sigma.document_service.service;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Strong entity tags for the different document representations.
+ *
+ * Metadata changes whenever the document row is updated, so its tag is derived from the
+ * last modification timestamp. Chunks, extracted text and the stored file are written once during
+ * ingestion and never change afterwards; their tags are derived from the object key,
+ * which is unique per upload.
+ */
+public final class DocumentETags {
+
+    private DocumentETags() {}
+
+    public static String metadata(Long documentId, LocalDateTime lastModified) {
+        return quote("doc-" + documentId + "-" + hash(String.valueOf(lastModified)));
+    }
+
+    public static String chunks(Long documentId, String objectKey) {
+        return quote("chunks-" + documentId + "-" + hash(objectKey));
+    }
+
+    public static String download(String objectKey) {
+        return quote("file-" + hash(objectKey));
+    }
+
+    public static String text(String objectKey) {
+        return quote("text-" + hash(objectKey));
+    }
+
+    private static String hash(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+} 
\ No newline at end of file
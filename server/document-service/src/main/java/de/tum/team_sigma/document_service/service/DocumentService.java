@@ -1,25 +1,61 @@
 package de.tum.team_sigma.document_service.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import de.tum.team_sigma.document_service.dto.ConversationMessageResponse;
+import de.tum.team_sigma.document_service.dto.CursorPage;
+import de.tum.team_sigma.document_service.dto.DocumentFileInfo;
 import de.tum.team_sigma.document_service.dto.DocumentResponse;
+import de.tum.team_sigma.document_service.dto.DocumentSummaryResponse;
 import de.tum.team_sigma.document_service.dto.DocumentUploadRequest;
+import de.tum.team_sigma.document_service.dto.LectureDocumentStatsResponse;
+import de.tum.team_sigma.document_service.dto.PresignedUrlResponse;
 import de.tum.team_sigma.document_service.dto.SimilarChunkResponse;
+import de.tum.team_sigma.document_service.model.ConversationMessage;
 import de.tum.team_sigma.document_service.model.Document;
 import de.tum.team_sigma.document_service.model.DocumentChunk;
+import de.tum.team_sigma.document_service.repository.ConversationMessageRepository;
+import de.tum.team_sigma.document_service.repository.DocumentChunkBulkWriter;
 import de.tum.team_sigma.document_service.repository.DocumentChunkRepository;
 import de.tum.team_sigma.document_service.repository.DocumentRepository;
+import de.tum.team_sigma.document_service.repository.LectureStatsRepository;
 import io.weaviate.client.WeaviateClient;
 import io.weaviate.client.v1.graphql.query.argument.NearTextArgument;
 import org.apache.tika.Tika;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.stream.Collectors;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import de.tum.team_sigma.document_service.storage.AsyncObjectStorageService;
 import de.tum.team_sigma.document_service.storage.ObjectStorageService;
 
 @Service
@@ -34,16 +70,81 @@ public class DocumentService {
     @Autowired
     private DocumentChunkRepository documentChunkRepository;
     
+    @Autowired
+    private DocumentChunkBulkWriter documentChunkBulkWriter;
+    
+    @Autowired
+    private ConversationMessageRepository conversationMessageRepository;
+    
+    @Autowired
+    private ConversationWriteBuffer conversationWriteBuffer;
+    
+    /**
+     * {@code buffered} acknowledges conversation appends once they are queued, {@code sync}
+     * waits until the write-behind flush has committed them. Callers can override it per request.
+     */
+    @Value("${conversation.write-behind.durability:buffered}")
+    private String defaultConversationDurability;
+    
+    @Value("${conversation.write-behind.enabled:true}")
+    private boolean conversationWriteBehindEnabled;
+    
+    @Value("${conversation.write-behind.sync-timeout:5s}")
+    private Duration conversationSyncTimeout;
+    
     @Autowired
     private ObjectStorageService storageService;
     
+    @Autowired
+    private AsyncObjectStorageService asyncStorageService;
+    
     @Autowired
     private WeaviateClient weaviateClient;
     
+    @Autowired
+    private VectorIndexOutbox vectorIndexOutbox;
+    
+    @Autowired
+    private LectureStatsRepository lectureStatsRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
     // Bucket name is encapsulated in storageService implementations.
     
-    private final Tika tika = new Tika();
+    @Value("${storage.download.presign-expiry:5m}")
+    private Duration presignExpiry;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${pagination.default-page-size:100}")
+    private int defaultPageSize;
+    
+    @Value("${pagination.max-page-size:500}")
+    private int maxPageSize;
+    
+    // Lazy: the parser registry is built in the background by TextExtractionConfig's startup task
+    @Autowired
+    @Lazy
+    private Tika tika;
+    
+    // Whitespace after a full stop; compiled once instead of on every upload
+    private static final Pattern SENTENCE_BOUNDARY = Pattern.compile("(?<=\\.)\\s+");
+    
+    // Number of documents per SQL IN list
+    private static final int SQL_DELETE_GROUP_SIZE = 1000;
+    
+    // Extracted plain text is stored gzip-compressed next to the original file
+    private static final String TEXT_OBJECT_SUFFIX = ".txt.gz";
+    private static final String TEXT_OBJECT_CONTENT_TYPE = "application/gzip";
     
+    /**
+     * Stores the file and extracts its text without a database transaction, then writes the
+     * document, its chunk rows and an index entry for the vector outbox in one short
+     * transaction. Weaviate is updated afterwards by {@link VectorIndexOutbox}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DocumentResponse uploadDocument(MultipartFile file, DocumentUploadRequest request) {
         try {
             logger.info("Starting document upload: {}", request.getName());
@@ -51,13 +152,15 @@ public class DocumentService {
             // Generate unique S3 object key
             String objectKey = generateObjectKey(file.getOriginalFilename());
             
-            // Store file via storage service
-            storeFile(file, objectKey);
-            
-            // Extract text content using Tika
+            // Start uploading the file and extract text with Tika while the transfer runs
+            CompletableFuture<Void> upload = storeFile(file, objectKey);
             String extractedText = tika.parseToString(file.getInputStream());
             logger.info("Extracted text: {}", extractedText);
             
+            // Keep the extracted text next to the original so consumers never parse it again
+            CompletableFuture<Void> textUpload = storeExtractedText(objectKey, extractedText);
+            awaitUpload(CompletableFuture.allOf(upload, textUpload), objectKey);
+            
             // Create document entity
             Document document = new Document(
                 request.getName(),
@@ -69,19 +172,21 @@ public class DocumentService {
             );
             document.setDescription(request.getDescription());
             
-            // Save document to database
-            document = documentRepository.save(document);
-            logger.info("Document saved to database with ID: {}", document.getId());
-            
-            // Create simple chunks for the document (basic text splitting)
-            createDocumentChunks(document, extractedText);
-            
-            // Reload document with chunks to get accurate count
-            document = documentRepository.findByIdWithChunks(document.getId())
-                    .orElseThrow(() -> new RuntimeException("Document not found after processing"));
+            DocumentResponse response = transactionTemplate.execute(status -> {
+                Document saved = documentRepository.save(document);
+                logger.info("Document saved to database with ID: {}", saved.getId());
+                
+                // Create simple chunks for the document (basic text splitting)
+                int chunkCount = createDocumentChunks(saved, extractedText);
+                vectorIndexOutbox.enqueueIndex(saved.getId());
+                if (saved.getLectureId() != null) {
+                    lectureStatsRepository.recordUpload(saved.getLectureId(), saved.getFileSize(), chunkCount);
+                }
+                return new DocumentResponse(saved, chunkCount);
+            });
             
             logger.info("Document upload completed successfully: {}", document.getName());
-            return new DocumentResponse(document);
+            return response;
             
         } catch (Exception e) {
             logger.error("Failed to upload document: {}", request.getName(), e);
@@ -89,41 +194,14 @@ public class DocumentService {
         }
     }
     
-    private void createDocumentChunks(Document document, String extractedText) {
+    private int createDocumentChunks(Document document, String extractedText) {
         try {
             logger.info("Creating chunks for document: {}", document.getName());
             
-            // Simple text chunking (split by sentences/paragraphs)
-            String[] chunks = extractedText.split("(?<=\\.)\\s+");
-            List<DocumentChunk> documentChunks = new ArrayList<>();
-            
-            for (int i = 0; i < chunks.length; i++) {
-                String chunkText = chunks[i].trim();
-                if (!chunkText.isEmpty()) {
-                    // Store text + metadata in Weaviate; vector will be generated automatically by the module
-                    String uuid = UUID.randomUUID().toString();
-                    weaviateClient.data().creator()
-                        .withClassName("DocumentChunk")
-                        .withID(uuid)
-                        .withProperties(Map.of(
-                            "text", chunkText,
-                            "documentId", document.getId(),
-                            "chunkIndex", i
-                        ))
-                        .run();
-
-                    DocumentChunk chunk = new DocumentChunk(
-                        document,
-                        uuid,
-                        i,
-                        chunkText
-                    );
-                    documentChunks.add(chunk);
-                }
-            }
-            
-            documentChunkRepository.saveAll(documentChunks);
+            List<DocumentChunk> documentChunks = splitIntoChunks(document, extractedText);
+            documentChunkBulkWriter.insert(documentChunks);
             logger.info("Saved {} chunks to database", documentChunks.size());
+            return documentChunks.size();
             
         } catch (Exception e) {
             logger.error("Failed to create document chunks", e);
@@ -131,16 +209,66 @@ public class DocumentService {
         }
     }
     
-    private void storeFile(MultipartFile file, String objectKey) {
+    private CompletableFuture<Void> storeFile(MultipartFile file, String objectKey) {
         try {
-            storageService.putObject(objectKey, file.getInputStream(), file.getSize(), file.getContentType());
-            logger.info("File stored: {}", objectKey);
+            return asyncStorageService.putObject(objectKey, file.getInputStream(), file.getSize(), file.getContentType());
         } catch (Exception e) {
-            logger.error("Failed to store file: {}", objectKey, e);
-            throw new RuntimeException("Failed to store file", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private CompletableFuture<Void> storeExtractedText(String objectKey, String extractedText) {
+        try {
+            byte[] compressed = compress(extractedText);
+            return asyncStorageService.putObject(textObjectKey(objectKey), new ByteArrayInputStream(compressed),
+                compressed.length, TEXT_OBJECT_CONTENT_TYPE);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static String textObjectKey(String objectKey) {
+        return objectKey + TEXT_OBJECT_SUFFIX;
+    }
+    
+    private static byte[] compress(String text) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return buffer.toByteArray();
+    }
+    
+    private void awaitUpload(CompletableFuture<Void> upload, String objectKey) {
+        try {
+            upload.join();
+            logger.info("File stored: {}", objectKey);
+        } catch (CompletionException e) {
+            logger.error("Failed to store file: {}", objectKey, e.getCause());
+            throw new RuntimeException("Failed to store file", e.getCause());
         }
     }
     
+    /**
+     * Simple text chunking (split by sentences/paragraphs). Chunk indexes count the positions of
+     * the split, so they stay stable even where blank pieces are skipped. Package-private for
+     * the JMH benchmarks.
+     */
+    static List<DocumentChunk> splitIntoChunks(Document document, String extractedText) {
+        String[] chunks = SENTENCE_BOUNDARY.split(extractedText);
+        List<DocumentChunk> documentChunks = new ArrayList<>(chunks.length);
+        
+        for (int i = 0; i < chunks.length; i++) {
+            String chunkText = chunks[i].trim();
+            if (!chunkText.isEmpty()) {
+                // The id is reused as the Weaviate object id when the outbox indexes the chunk
+                String uuid = UUID.randomUUID().toString();
+                documentChunks.add(new DocumentChunk(document, uuid, i, chunkText));
+            }
+        }
+        return documentChunks;
+    }
+    
     private String generateObjectKey(String originalFilename) {
         String timestamp = String.valueOf(System.currentTimeMillis());
         String uuid = UUID.randomUUID().toString().substring(0, 8);
@@ -148,32 +276,143 @@ public class DocumentService {
     }
     
     @Transactional(readOnly = true)
-    public List<DocumentResponse> getAllDocuments() {
-        return documentRepository.findAll().stream()
-            .map(DocumentResponse::new)
-            .collect(Collectors.toList());
+    public CursorPage<DocumentSummaryResponse> getAllDocuments(String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        // Fetch one extra row to learn whether another page follows
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<DocumentSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = documentRepository.findSummariesPage(page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = documentRepository.findSummariesPageAfter(after.getCreatedAt(), after.getId(), page);
+        }
+        return toCursorPage(rows, pageSize);
     }
     
     @Transactional(readOnly = true)
-    public List<DocumentResponse> getDocumentsByLecture(String lectureId) {
+    public CursorPage<DocumentSummaryResponse> getDocumentsByLecture(String lectureId, String cursor, Integer limit) {
         logger.info("Fetching documents for lecture: {}", lectureId);
-        return documentRepository.findByLectureId(lectureId).stream()
-            .map(DocumentResponse::new)
-            .collect(Collectors.toList());
+        int pageSize = resolvePageSize(limit);
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<DocumentSummaryResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = documentRepository.findSummariesPageByLectureId(lectureId, page);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = documentRepository.findSummariesPageByLectureIdAfter(lectureId, after.getCreatedAt(), after.getId(), page);
+        }
+        return toCursorPage(rows, pageSize);
+    }
+    
+    /**
+     * Writes every matching document as one JSON object per line. Rows are pulled from a
+     * server-side cursor, so memory use does not grow with the number of documents.
+     */
+    @Transactional(readOnly = true)
+    public long exportDocuments(String lectureId, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(DocumentSummaryResponse.class);
+        long count = 0;
+        try (Stream<DocumentSummaryResponse> rows = lectureId != null
+                ? documentRepository.streamSummariesByLectureId(lectureId)
+                : documentRepository.streamAllSummaries()) {
+            Iterator<DocumentSummaryResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+                count++;
+            }
+        }
+        outputStream.flush();
+        return count;
     }
     
+    /**
+     * Document totals for each of the given lectures, in the order requested; lectures without
+     * documents get zero counts. Reads the rollup table, not the documents themselves.
+     */
     @Transactional(readOnly = true)
+    public List<LectureDocumentStatsResponse> getLectureStats(List<String> lectureIds) {
+        List<String> distinctIds = lectureIds.stream().distinct().toList();
+        if (distinctIds.size() > maxPageSize) {
+            throw new IllegalArgumentException("At most " + maxPageSize + " lectures per request");
+        }
+        Map<String, LectureDocumentStatsResponse> stats = new HashMap<>();
+        for (LectureDocumentStatsResponse row : lectureStatsRepository.findByLectureIds(distinctIds)) {
+            stats.put(row.getLectureId(), row);
+        }
+        return distinctIds.stream()
+            .map(id -> stats.getOrDefault(id, LectureDocumentStatsResponse.empty(id)))
+            .toList();
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+    
+    private CursorPage<DocumentSummaryResponse> toCursorPage(List<DocumentSummaryResponse> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<DocumentSummaryResponse> items = rows.subList(0, pageSize);
+        DocumentSummaryResponse last = items.get(pageSize - 1);
+        return new CursorPage<>(items, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+    }
+    
+    /*
+     * Reads that include the conversation flush the write-behind buffer first. The flush commits
+     * in a transaction of its own, so it runs before the read's transaction is opened rather than
+     * inside it; otherwise each such read would hold two pooled connections at once. The read
+     * transaction is not read-only: it must see the flushed messages, so it stays off lagging replicas.
+     */
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DocumentResponse getDocumentById(Long id) {
-        Document document = documentRepository.findByIdWithChunks(id)
+        conversationWriteBuffer.flush(id);
+        return transactionTemplate.execute(status -> {
+            // Uncached, so the body matches the ETag computed from the database by getDocumentETag
+            Document document = documentRepository.findByIdUncached(id)
+                .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+            return new DocumentResponse(document, documentChunkRepository.countByDocumentId(id), loadConversation(id));
+        });
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String getDocumentETag(Long id) {
+        // Buffered appends bump updated_at, so they must land before the tag is computed
+        conversationWriteBuffer.flush(id);
+        LocalDateTime lastModified = transactionTemplate.execute(status -> documentRepository.findLastModifiedById(id))
             .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
-        return new DocumentResponse(document);
+        return DocumentETags.metadata(id, lastModified);
     }
     
+    // Download headers only: no conversation flush, chunk count or conversation load
     @Transactional(readOnly = true)
-    public List<DocumentResponse> searchDocuments(String keyword) {
-        return documentRepository.searchByKeyword(keyword).stream()
-            .map(DocumentResponse::new)
-            .collect(Collectors.toList());
+    public DocumentFileInfo getDocumentFileInfo(Long id) {
+        return documentRepository.findFileInfoById(id)
+            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+    }
+    
+    @Transactional(readOnly = true)
+    public String getChunksETag(Long id) {
+        String objectKey = documentRepository.findMinioPathById(id)
+            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+        return DocumentETags.chunks(id, objectKey);
+    }
+    
+    @Transactional(readOnly = true)
+    public String getDownloadETag(Long id) {
+        String objectKey = documentRepository.findMinioPathById(id)
+            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+        return DocumentETags.download(objectKey);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<DocumentSummaryResponse> searchDocuments(String keyword) {
+        return documentRepository.searchSummariesByKeyword(keyword);
     }
     
     public DocumentResponse updateDocument(Long id, DocumentUploadRequest request) {
@@ -184,17 +423,20 @@ public class DocumentService {
         document.setDescription(request.getDescription());
         
         document = documentRepository.save(document);
+        if (document.getLectureId() != null) {
+            lectureStatsRepository.touch(document.getLectureId());
+        }
         logger.info("Document updated: {}", document.getName());
         
-        return new DocumentResponse(document);
+        return new DocumentResponse(document, documentChunkRepository.countByDocumentId(id), loadConversation(id));
     }
     
     public void deleteDocument(Long id) {
-        Document document = documentRepository.findByIdWithChunks(id)
+        Document document = documentRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
         
         try {
-            deleteDocumentAndCleanup(document);
+            deleteDocumentsAndCleanup(List.of(document));
             logger.info("Document deleted successfully: {}", document.getName());
             
         } catch (Exception e) {
@@ -207,18 +449,10 @@ public class DocumentService {
         try {
             logger.info("Deleting all documents for lecture: {}", lectureId);
             
-            List<Document> documents = documentRepository.findByLectureId(lectureId);
+            List<Document> documents = documentRepository.findAllByLectureIdUncached(lectureId);
             logger.info("Found {} documents to delete for lecture: {}", documents.size(), lectureId);
             
-            for (Document document : documents) {
-                try {
-                    deleteDocumentAndCleanup(document);
-                    logger.info("Deleted document: {} for lecture: {}", document.getName(), lectureId);
-                } catch (Exception e) {
-                    logger.error("Failed to delete document: {} for lecture: {}", document.getName(), lectureId, e);
-                    // Continue with other documents even if one fails
-                }
-            }
+            deleteDocumentsAndCleanup(documents);
             
             logger.info("Completed deletion of documents for lecture: {}", lectureId);
             
@@ -228,37 +462,152 @@ public class DocumentService {
         }
     }
 
-    private void deleteDocumentAndCleanup(Document document) throws Exception {
-        // Delete chunks from Weaviate
-        for (DocumentChunk chunk : document.getChunks()) {
-            try {
-                weaviateClient.data().deleter()
-                    .withClassName("DocumentChunk")
-                    .withID(chunk.getWeaviateId())
-                    .run();
-            } catch (Exception e) {
-                logger.warn("Failed to delete chunk from Weaviate: {}", chunk.getWeaviateId(), e);
+    /**
+     * Removes documents together with their vectors, stored objects and chunk rows using
+     * bulk operations, so the number of round trips does not grow with the chunk count.
+     * Vectors and stored objects are only removed once the row deletes have committed, so a
+     * rollback never leaves documents pointing at missing files.
+     */
+    private void deleteDocumentsAndCleanup(List<Document> documents) throws Exception {
+        if (documents.isEmpty()) {
+            return;
+        }
+        
+        List<Long> documentIds = documents.stream().map(Document::getId).toList();
+        
+        // Vectors are removed by the outbox relay once this transaction commits
+        vectorIndexOutbox.enqueueDelete(documentIds);
+        
+        // Delete originals and their text artifacts using multi-object deletes
+        List<String> objectKeys = new ArrayList<>();
+        for (Document document : documents) {
+            objectKeys.add(document.getMinioPath());
+            objectKeys.add(textObjectKey(document.getMinioPath()));
+        }
+        afterCommit(() -> deleteObjects(objectKeys, documents.size()));
+        
+        // Delete chunk rows and documents with one statement per group; the lecture rollup is
+        // adjusted first, while the rows it subtracts still exist
+        for (List<Long> group : partition(documentIds, SQL_DELETE_GROUP_SIZE)) {
+            lectureStatsRepository.recordDeletion(group);
+            documentChunkRepository.deleteAllByDocumentIdInBatch(group);
+            conversationMessageRepository.deleteAllByDocumentIdInBatch(group);
+            documentRepository.deleteAllByIdInBatch(group);
+        }
+    }
+    
+    private void deleteObjects(List<String> objectKeys, int documentCount) {
+        try {
+            storageService.deleteObjects(objectKeys);
+            logger.info("Deleted {} files", documentCount);
+        } catch (Exception e) {
+            // The rows are gone already; what is left are unreferenced objects, not broken documents
+            logger.error("Failed to delete {} stored objects of deleted documents: {}", objectKeys.size(), objectKeys, e);
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
             }
+        });
+    }
+    
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> groups = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += size) {
+            groups.add(items.subList(start, Math.min(start + size, items.size())));
         }
+        return groups;
+    }
+    
+    /**
+     * Writes the stored file to the given stream. Runs outside of a transaction so that no
+     * database connection is held while the bytes are transferred.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long streamDocument(Long id, OutputStream outputStream) {
+        String objectKey = documentRepository.findMinioPathById(id)
+            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
         
-        // Delete file using storage service
-        storageService.deleteObject(document.getMinioPath());
-        logger.info("Deleted file: {}", document.getMinioPath());
+        try {
+            return storageService.transferObject(objectKey, outputStream);
+        } catch (Exception e) {
+            logger.error("Failed to stream document with id: {}", id, e);
+            throw new RuntimeException("Failed to download document", e);
+        }
+    }
+    
+    /**
+     * Writes the extracted plain text of a document, either still gzip-compressed or decoded
+     * to UTF-8. Documents ingested before text artifacts existed are parsed once and the
+     * artifact is stored for subsequent requests.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamDocumentText(Long id, OutputStream outputStream, boolean compressed) {
+        String objectKey = documentRepository.findMinioPathById(id)
+            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
         
-        // Delete document from database (cascades to chunks)
-        documentRepository.delete(document);
+        try (InputStream text = openExtractedText(objectKey)) {
+            if (compressed) {
+                text.transferTo(outputStream);
+            } else {
+                try (GZIPInputStream decompressed = new GZIPInputStream(text)) {
+                    decompressed.transferTo(outputStream);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to stream text for document with id: {}", id, e);
+            throw new RuntimeException("Failed to stream document text", e);
+        }
+    }
+    
+    private InputStream openExtractedText(String objectKey) throws Exception {
+        try {
+            return storageService.getObject(textObjectKey(objectKey));
+        } catch (Exception e) {
+            logger.info("No text artifact for {}, extracting it from the original file", objectKey);
+        }
+        
+        String extractedText;
+        try (InputStream original = storageService.getObject(objectKey)) {
+            extractedText = tika.parseToString(original);
+        }
+        byte[] compressed = compress(extractedText);
+        storageService.putObject(textObjectKey(objectKey), new ByteArrayInputStream(compressed),
+            compressed.length, TEXT_OBJECT_CONTENT_TYPE);
+        return new ByteArrayInputStream(compressed);
+    }
+    
+    @Transactional(readOnly = true)
+    public String getTextETag(Long id) {
+        String objectKey = documentRepository.findMinioPathById(id)
+            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+        return DocumentETags.text(objectKey);
     }
     
     @Transactional(readOnly = true)
-    public InputStream downloadDocument(Long id) {
+    public PresignedUrlResponse getPresignedDownloadUrl(Long id) {
+        Document document = documentRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+        
         try {
-            Document document = documentRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
-            
-            return storageService.getObject(document.getMinioPath());
+            String url = storageService.getPresignedDownloadUrl(
+                document.getMinioPath(),
+                document.getOriginalFilename(),
+                document.getContentType(),
+                presignExpiry
+            );
+            return new PresignedUrlResponse(url, LocalDateTime.now().plus(presignExpiry));
         } catch (Exception e) {
-            logger.error("Failed to download document with id: {}", id, e);
-            throw new RuntimeException("Failed to download document", e);
+            logger.error("Failed to create pre-signed download URL for document with id: {}", id, e);
+            throw new RuntimeException("Failed to create download URL", e);
         }
     }
     
@@ -300,72 +649,80 @@ public class DocumentService {
                 return Collections.emptyList();
             }
 
-            // The hierarchy of the GraphQL response is: { Get -> { DocumentChunk -> [ { documentId: X }, ... ] } }
-            @SuppressWarnings("unchecked")
-            Map<String, Object> dataMap = (Map<String, Object>) dataObj;
-            logger.info("Data map keys: {}", dataMap.keySet());
-            
-            @SuppressWarnings("unchecked")
-            Map<String, Object> getMap = (Map<String, Object>) dataMap.get("Get");
-            if (getMap == null) {
-                logger.warn("Get map is null in response");
-                return Collections.emptyList();
-            }
-            logger.info("Get map keys: {}", getMap.keySet());
-            
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> chunkList = (List<Map<String, Object>>) getMap.get("DocumentChunk");
-            if (chunkList == null) {
-                logger.warn("DocumentChunk list is null in Get map");
-                return Collections.emptyList();
-            }
-            logger.info("Found {} DocumentChunk results", chunkList.size());
+            return decodeSimilarChunks(dataObj);
 
-            List<SimilarChunkResponse> resultChunks = new ArrayList<>();
-            for (Map<String, Object> chunk : chunkList) {
-                Object docIdObj = chunk.get("documentId");
-                Object idxObj = chunk.get("chunkIndex");
-                Object textObj = chunk.get("text");
+        } catch (Exception e) {
+            logger.error("Failed to perform vector similarity search for query: {}", query, e);
+            throw new RuntimeException("Failed to search similar documents", e);
+        }
+    }
+    
+    /**
+     * Turns the data of a nearText GraphQL response into chunk results, skipping entries
+     * without a usable documentId. Package-private for the JMH benchmarks.
+     */
+    static List<SimilarChunkResponse> decodeSimilarChunks(Object dataObj) {
+        // The hierarchy of the GraphQL response is: { Get -> { DocumentChunk -> [ { documentId: X }, ... ] } }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> dataMap = (Map<String, Object>) dataObj;
+        logger.info("Data map keys: {}", dataMap.keySet());
+        
+        @SuppressWarnings("unchecked")
+        Map<String, Object> getMap = (Map<String, Object>) dataMap.get("Get");
+        if (getMap == null) {
+            logger.warn("Get map is null in response");
+            return Collections.emptyList();
+        }
+        logger.info("Get map keys: {}", getMap.keySet());
+        
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> chunkList = (List<Map<String, Object>>) getMap.get("DocumentChunk");
+        if (chunkList == null) {
+            logger.warn("DocumentChunk list is null in Get map");
+            return Collections.emptyList();
+        }
+        logger.info("Found {} DocumentChunk results", chunkList.size());
 
-                if (docIdObj == null) {
-                    logger.debug("Skipping chunk without documentId: {}", chunk);
-                    continue;
-                }
+        List<SimilarChunkResponse> resultChunks = new ArrayList<>();
+        for (Map<String, Object> chunk : chunkList) {
+            Object docIdObj = chunk.get("documentId");
+            Object idxObj = chunk.get("chunkIndex");
+            Object textObj = chunk.get("text");
 
-                Long docId;
-                try {
-                    if (docIdObj instanceof Number num) {
-                        docId = num.longValue();
-                    } else {
-                        docId = Long.parseLong(docIdObj.toString());
-                    }
-                } catch (NumberFormatException nfe) {
-                    logger.debug("Unable to parse documentId '{}': {}", docIdObj, nfe.getMessage());
-                    continue;
-                }
+            if (docIdObj == null) {
+                logger.debug("Skipping chunk without documentId: {}", chunk);
+                continue;
+            }
 
-                Integer chunkIdx = null;
-                if (idxObj != null) {
-                    if (idxObj instanceof Number num) {
-                        chunkIdx = num.intValue();
-                    } else {
-                        try {
-                            chunkIdx = Integer.parseInt(idxObj.toString());
-                        } catch (NumberFormatException ignored) {}
-                    }
+            Long docId;
+            try {
+                if (docIdObj instanceof Number num) {
+                    docId = num.longValue();
+                } else {
+                    docId = Long.parseLong(docIdObj.toString());
                 }
+            } catch (NumberFormatException nfe) {
+                logger.debug("Unable to parse documentId '{}': {}", docIdObj, nfe.getMessage());
+                continue;
+            }
 
-                String text = textObj != null ? textObj.toString() : "";
-
-                resultChunks.add(new SimilarChunkResponse(docId, chunkIdx, text));
+            Integer chunkIdx = null;
+            if (idxObj != null) {
+                if (idxObj instanceof Number num) {
+                    chunkIdx = num.intValue();
+                } else {
+                    try {
+                        chunkIdx = Integer.parseInt(idxObj.toString());
+                    } catch (NumberFormatException ignored) {}
+                }
             }
 
-            return resultChunks;
+            String text = textObj != null ? textObj.toString() : "";
 
-        } catch (Exception e) {
-            logger.error("Failed to perform vector similarity search for query: {}", query, e);
-            throw new RuntimeException("Failed to search similar documents", e);
+            resultChunks.add(new SimilarChunkResponse(docId, chunkIdx, text));
         }
+
+        return resultChunks;
     }
     
     @Transactional(readOnly = true)
@@ -397,37 +754,110 @@ public class DocumentService {
     }
     
     
-    public Map<String, Object> addMessageToConversation(Long id, String messageType, String content) {
-        Document document = documentRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
-        
-        Document.ConversationMessage.MessageType type;
+    /**
+     * Appends one message without reading the existing history. Messages go through the
+     * write-behind buffer, which bumps {@code updated_at} to lock the document row while it
+     * numbers the new messages (and to change the document's ETag).
+     *
+     * With {@code buffered} durability the message is acknowledged as soon as it is queued and
+     * carries no index yet; with {@code sync} this waits for the flush that persists it.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> addMessageToConversation(Long id, String messageType, String content, String durability)
+            throws InterruptedException, TimeoutException {
+        ConversationMessage.MessageType type;
         try {
-            type = Document.ConversationMessage.MessageType.valueOf(messageType.toUpperCase());
+            type = ConversationMessage.MessageType.valueOf(messageType.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid message type: " + messageType);
         }
+        String mode = durability != null ? durability.toLowerCase() : defaultConversationDurability;
+        if (!"buffered".equals(mode) && !"sync".equals(mode)) {
+            throw new IllegalArgumentException("Invalid durability: " + durability);
+        }
         
-        document.addMessage(type, content);
-        document = documentRepository.save(document);
+        if (!documentRepository.existsById(id)) {
+            throw new RuntimeException("Document not found with id: " + id);
+        }
+        
+        CompletableFuture<ConversationMessageResponse> stored = conversationWriteBuffer.append(id, type, content);
+        if (!conversationWriteBehindEnabled) {
+            conversationWriteBuffer.flush(id);
+        }
         
         Map<String, Object> response = new HashMap<>();
         response.put("documentId", id);
-        response.put("conversation", document.getConversation());
+        if ("buffered".equals(mode) && !stored.isDone()) {
+            ConversationMessage pending = new ConversationMessage(id, null, type, content);
+            response.put("message", new ConversationMessageResponse(pending));
+            response.put("status", "buffered");
+            return response;
+        }
+        
+        try {
+            response.put("message", stored.get(conversationSyncTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        }
+        response.put("status", "persisted");
         return response;
     }
     
-    public Map<String, Object> clearDocumentConversation(Long id) {
-        Document document = documentRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+    /**
+     * Returns up to {@code limit} of the most recent messages older than {@code before}, oldest
+     * first. {@code nextBefore} is the value to pass for the preceding page, or null when the
+     * start of the conversation has been reached.
+     */
+    // Flushes before its transaction opens, like getDocumentById
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> getConversation(Long id, Integer before, Integer limit) {
+        conversationWriteBuffer.flush(id);
+        int pageSize = resolvePageSize(limit);
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<ConversationMessage> rows = transactionTemplate.execute(status -> {
+            if (!documentRepository.existsById(id)) {
+                throw new RuntimeException("Document not found with id: " + id);
+            }
+            return before == null
+                ? conversationMessageRepository.findLatest(id, page)
+                : conversationMessageRepository.findLatestBefore(id, before, page);
+        });
         
-        document.getConversation().clear();
-        document = documentRepository.save(document);
+        boolean hasMore = rows.size() > pageSize;
+        List<ConversationMessageResponse> messages = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (int i = Math.min(rows.size(), pageSize) - 1; i >= 0; i--) {
+            messages.add(new ConversationMessageResponse(rows.get(i)));
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("documentId", id);
+        response.put("conversation", messages);
+        response.put("nextBefore", hasMore ? messages.get(0).getMessageIndex() : null);
+        return response;
+    }
+    
+    // Flushes before its transaction opens, like getDocumentById
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<String, Object> clearDocumentConversation(Long id) {
+        // Messages still queued were sent before the clear and must not reappear after it
+        conversationWriteBuffer.flush(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            Document document = documentRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Document not found with id: " + id));
+            document.setUpdatedAt(LocalDateTime.now());
+            conversationMessageRepository.deleteByDocumentId(id);
+        });
         
         Map<String, Object> response = new HashMap<>();
         response.put("documentId", id);
-        response.put("conversation", document.getConversation());
+        response.put("conversation", List.of());
         response.put("message", "Conversation cleared successfully");
         return response;
     }
+    
+    private List<ConversationMessageResponse> loadConversation(Long documentId) {
+        return conversationMessageRepository.findByDocumentIdOrderByMessageIndexAsc(documentId).stream()
+            .map(ConversationMessageResponse::new)
+            .collect(Collectors.toList());
+    }
 }
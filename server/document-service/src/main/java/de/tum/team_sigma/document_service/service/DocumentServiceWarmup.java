@@ -0,0 +1,216 @@
+package de.tum.team_sigma.document_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.tum.team_sigma.document_service.config.StartupTask;
+import de.tum.team_sigma.document_service.dto.DocumentResponse;
+import de.tum.team_sigma.document_service.model.Document;
+import de.tum.team_sigma.document_service.storage.ObjectStorageService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.tika.Tika;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exercises the request hot paths against synthetic data before the instance reports ready, so
+ * the first real requests after a rollout do not pay for cold HTTP pools, unloaded Tika parsers
+ * and interpreted code: similarity search, Tika extraction of a PDF and an HTML page, a storage
+ * put/get/delete round trip, and JSON round trips of document responses.
+ *
+ * Runs as the last {@link StartupTask} phase, after MinIO, Weaviate and Tika are initialized.
+ * Warm-up is best effort: failing operations are logged and skipped, and the whole phase stops
+ * at {@code warmup.max-duration}. The latency of each operation's first and last iterations is
+ * exported to show what the warm-up bought.
+ */
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class DocumentServiceWarmup implements StartupTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentServiceWarmup.class);
+
+    private static final String SAMPLE_TEXT = "Public-key cryptography relies on one-way functions such as "
+            + "modular exponentiation; TLS combines it with symmetric ciphers for bulk encryption.";
+    private static final String SAMPLE_QUERY = "How does TLS protect data in transit?";
+    private static final int SAMPLE_OBJECT_SIZE = 64 * 1024;
+    // Iterations averaged for the warm latency
+    private static final int WARM_WINDOW = 10;
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+
+    private final DocumentService documentService;
+    private final ObjectStorageService storageService;
+    private final Tika tika;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int iterations;
+    private final int searchIterations;
+    private final int storageIterations;
+    private final Duration maxDuration;
+
+    public DocumentServiceWarmup(DocumentService documentService,
+                                 ObjectStorageService storageService,
+                                 @Lazy Tika tika,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${warmup.iterations:200}") int iterations,
+                                 @Value("${warmup.search-iterations:5}") int searchIterations,
+                                 @Value("${warmup.storage-iterations:5}") int storageIterations,
+                                 @Value("${warmup.max-duration:60s}") Duration maxDuration) {
+        this.documentService = documentService;
+        this.storageService = storageService;
+        this.tika = tika;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.iterations = iterations;
+        this.searchIterations = searchIterations;
+        this.storageIterations = storageIterations;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public String name() {
+        return "warmup";
+    }
+
+    @Override
+    public int phase() {
+        return 1;
+    }
+
+    @Override
+    public void run() throws IOException {
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+
+        byte[] pdf = samplePdf();
+        byte[] html = ("<html><head><title>Lecture notes</title></head><body><h1>Cryptography</h1><p>"
+                + SAMPLE_TEXT + "</p></body></html>").getBytes(StandardCharsets.UTF_8);
+        List<DocumentResponse> documents = sampleDocuments();
+
+        warm("tika", iterations, deadline, () -> {
+            tika.parseToString(new ByteArrayInputStream(pdf));
+            tika.parseToString(new ByteArrayInputStream(html));
+        });
+        warm("json", iterations, deadline,
+                () -> objectMapper.readValue(objectMapper.writeValueAsBytes(documents), DocumentResponse[].class));
+        warm("storage", storageIterations, deadline, this::storageRoundTrip);
+        warm("search", searchIterations, deadline, () -> documentService.searchSimilarDocuments(SAMPLE_QUERY, 5));
+
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("warmup.duration")
+                .description("Time spent warming up before the instance reported ready")
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        logger.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void warm(String operation, int count, long deadline, Operation body) {
+        Timer timer = Timer.builder("warmup.operation")
+                .tag("operation", operation)
+                .description("Latency of warm-up iterations")
+                .register(meterRegistry);
+        List<Long> latencies = new ArrayList<>();
+        int failures = 0;
+        for (int i = 0; i < count && System.nanoTime() < deadline; i++) {
+            long start = System.nanoTime();
+            try {
+                body.run();
+            } catch (Exception e) {
+                if (failures++ == 0) {
+                    logger.warn("Warm-up of {} failed, continuing without it: {}", operation, e.getMessage());
+                }
+                // Do not keep hammering an unavailable dependency
+                if (failures >= 3) {
+                    break;
+                }
+                continue;
+            }
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            latencies.add(elapsed);
+        }
+        if (latencies.isEmpty()) {
+            return;
+        }
+
+        double first = latencies.get(0) / 1e9;
+        double warm = latencies.subList(Math.max(0, latencies.size() - WARM_WINDOW), latencies.size()).stream()
+                .mapToLong(Long::longValue).average().orElse(0) / 1e9;
+        Gauge.builder("warmup.latency", () -> first)
+                .tag("operation", operation)
+                .tag("iteration", "first")
+                .baseUnit("seconds")
+                .description("Latency of the first warm-up iteration")
+                .register(meterRegistry);
+        Gauge.builder("warmup.latency", () -> warm)
+                .tag("operation", operation)
+                .tag("iteration", "last")
+                .baseUnit("seconds")
+                .description("Mean latency of the last warm-up iterations")
+                .register(meterRegistry);
+        logger.info("Warm-up of {}: {} iterations, first {} ms, last {} ms",
+                operation, latencies.size(), Math.round(first * 1000), Math.round(warm * 1000));
+    }
+
+    private void storageRoundTrip() throws Exception {
+        String key = "warmup/" + UUID.randomUUID();
+        byte[] content = new byte[SAMPLE_OBJECT_SIZE];
+        storageService.putObject(key, new ByteArrayInputStream(content), content.length, "application/octet-stream");
+        try (InputStream in = storageService.getObject(key)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } finally {
+            storageService.deleteObject(key);
+        }
+    }
+
+    private static byte[] samplePdf() throws IOException {
+        try (PDDocument document = new PDDocument(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(PDType1Font.HELVETICA, 11);
+                content.newLineAtOffset(72, 720);
+                content.showText(SAMPLE_TEXT);
+                content.endText();
+            }
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static List<DocumentResponse> sampleDocuments() {
+        List<DocumentResponse> documents = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            Document document = new Document("Lecture " + id, "lecture-" + id + ".pdf", "application/pdf",
+                    1_048_576L, "documents/lecture-" + id + ".pdf", "42");
+            document.setId(id);
+            document.setDescription(SAMPLE_TEXT);
+            documents.add(new DocumentResponse(document, 12));
+        }
+        return documents;
+    }
+}
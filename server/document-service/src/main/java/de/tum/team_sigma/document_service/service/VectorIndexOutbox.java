@@ -0,0 +1,314 @@
+package de.tum.team_sigma.document_service.service;
+
+import de.tum.team_sigma.document_service.repository.VectorOutboxRepository;
+import de.tum.team_sigma.document_service.repository.VectorOutboxRepository.Chunk;
+import de.tum.team_sigma.document_service.repository.VectorOutboxRepository.Entry;
+import de.tum.team_sigma.document_service.repository.VectorOutboxRepository.Operation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.weaviate.client.WeaviateClient;
+import io.weaviate.client.base.Result;
+import io.weaviate.client.v1.batch.model.BatchDeleteResponse;
+import io.weaviate.client.v1.batch.model.ObjectGetResponse;
+import io.weaviate.client.v1.data.model.WeaviateObject;
+import io.weaviate.client.v1.filters.Operator;
+import io.weaviate.client.v1.filters.WhereFilter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactional outbox for Weaviate writes. Callers record that a document's chunks must be
+ * indexed or deleted in the same transaction as the chunk rows themselves, so the database
+ * never commits without its vector work being queued, and no transaction is held open while
+ * Weaviate is called.
+ *
+ * A background relay applies queued entries in batches. Both operations are idempotent:
+ * chunk objects are written under the ids stored in {@code document_chunks}, so a repeated
+ * index overwrites them, and a delete matches on {@code documentId}. Failed entries are
+ * retried with exponential backoff and parked after {@code max-attempts}.
+ */
+@Component
+public class VectorIndexOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorIndexOutbox.class);
+
+    static final String CLASS_NAME = "DocumentChunk";
+
+    // Documents per Weaviate batch delete filter
+    private static final int DELETE_GROUP_SIZE = 100;
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+
+    private final VectorOutboxRepository outboxRepository;
+    private final WeaviateClient weaviateClient;
+    private final int batchSize;
+    private final int objectsPerRequest;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final boolean relayEnabled;
+
+    private final ScheduledExecutorService relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vector-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lagTimer;
+    private final Counter parked;
+
+    public VectorIndexOutbox(VectorOutboxRepository outboxRepository,
+                             WeaviateClient weaviateClient,
+                             MeterRegistry meterRegistry,
+                             @Value("${vector-outbox.relay.enabled:true}") boolean relayEnabled,
+                             @Value("${vector-outbox.relay.interval:1s}") Duration interval,
+                             @Value("${vector-outbox.relay.batch-size:50}") int batchSize,
+                             @Value("${vector-outbox.relay.objects-per-request:100}") int objectsPerRequest,
+                             @Value("${vector-outbox.relay.max-attempts:10}") int maxAttempts,
+                             @Value("${vector-outbox.relay.lease:5m}") Duration lease,
+                             @Value("${vector-outbox.relay.initial-backoff:2s}") Duration initialBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.weaviateClient = weaviateClient;
+        this.meterRegistry = meterRegistry;
+        this.relayEnabled = relayEnabled;
+        this.batchSize = batchSize;
+        this.objectsPerRequest = objectsPerRequest;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+
+        this.lagTimer = Timer.builder("vector.outbox.lag")
+                .description("Time between queueing a vector operation and applying it in Weaviate")
+                .register(meterRegistry);
+        this.parked = Counter.builder("vector.outbox.parked")
+                .description("Vector operations given up on after the maximum number of attempts")
+                .register(meterRegistry);
+
+        if (relayEnabled) {
+            long intervalMillis = Math.max(100, interval.toMillis());
+            relay.scheduleWithFixedDelay(this::relayQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Queues indexing of the document's chunk rows; must run inside the transaction that wrote them. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueIndex(Long documentId) {
+        enqueue(Operation.INDEX, List.of(documentId));
+    }
+
+    /** Queues removal of all chunk vectors of the given documents. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueDelete(Collection<Long> documentIds) {
+        if (!documentIds.isEmpty()) {
+            enqueue(Operation.DELETE, documentIds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        relay.shutdown();
+        relay.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void enqueue(Operation operation, Collection<Long> documentIds) {
+        outboxRepository.enqueue(operation, documentIds);
+        if (relayEnabled) {
+            // Relay as soon as the entries are visible rather than waiting for the next tick
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.execute(VectorIndexOutbox.this::relayQuietly);
+                }
+            });
+        }
+    }
+
+    private void relayQuietly() {
+        try {
+            // Keep going while full batches come back, so a backlog drains without waiting for ticks
+            int claimed;
+            do {
+                claimed = relayOnce();
+            } while (claimed == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Vector outbox relay failed, will retry", e);
+        }
+    }
+
+    /** Claims and applies one batch of due entries; returns the number claimed. */
+    int relayOnce() {
+        List<Entry> entries = outboxRepository.claim(batchSize, lease);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Map<Entry, String> failures = new HashMap<>();
+        List<Entry> indexEntries = new ArrayList<>();
+        List<Entry> deleteEntries = new ArrayList<>();
+        for (Entry entry : entries) {
+            (entry.operation() == Operation.INDEX ? indexEntries : deleteEntries).add(entry);
+        }
+        index(indexEntries, failures);
+        delete(deleteEntries, failures);
+
+        List<Long> done = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Entry entry : entries) {
+            String error = failures.get(entry);
+            if (error == null) {
+                done.add(entry.id());
+                lagTimer.record(Duration.between(entry.createdAt(), now));
+                relayed(entry.operation()).increment();
+            } else {
+                scheduleRetry(entry, error);
+            }
+        }
+        if (!done.isEmpty()) {
+            outboxRepository.complete(done);
+        }
+        return entries.size();
+    }
+
+    /**
+     * Writes the chunk objects of all entries through Weaviate's batch endpoint, several
+     * documents per request. An entry fails if any of its objects was rejected.
+     */
+    private void index(List<Entry> entries, Map<Entry, String> failures) {
+        Map<String, Entry> owners = new LinkedHashMap<>();
+        List<WeaviateObject> objects = new ArrayList<>();
+        for (Entry entry : entries) {
+            try {
+                for (Chunk chunk : outboxRepository.findChunks(entry.documentId())) {
+                    owners.put(chunk.weaviateId(), entry);
+                    objects.add(WeaviateObject.builder()
+                            .className(CLASS_NAME)
+                            .id(chunk.weaviateId())
+                            .properties(Map.of(
+                                    "text", chunk.text() != null ? chunk.text() : "",
+                                    "documentId", entry.documentId(),
+                                    "chunkIndex", chunk.chunkIndex()))
+                            .build());
+                }
+            } catch (RuntimeException e) {
+                failures.put(entry, "Failed to read chunks: " + e.getMessage());
+            }
+        }
+
+        for (int start = 0; start < objects.size(); start += objectsPerRequest) {
+            List<WeaviateObject> group = objects.subList(start, Math.min(start + objectsPerRequest, objects.size()));
+            try {
+                Result<ObjectGetResponse[]> result = weaviateClient.batch().objectsBatcher()
+                        .withObjects(group.toArray(WeaviateObject[]::new))
+                        .run();
+                if (result.hasErrors()) {
+                    group.forEach(object -> failures.putIfAbsent(owners.get(object.getId()), String.valueOf(result.getError())));
+                    continue;
+                }
+                for (ObjectGetResponse response : result.getResult()) {
+                    if (response.getResult() != null && response.getResult().getErrors() != null) {
+                        failures.putIfAbsent(owners.get(response.getId()), String.valueOf(response.getResult().getErrors()));
+                    }
+                }
+            } catch (RuntimeException e) {
+                group.forEach(object -> failures.putIfAbsent(owners.get(object.getId()), String.valueOf(e.getMessage())));
+            }
+        }
+    }
+
+    /** Removes chunk vectors with one filtered batch delete per group of documents. */
+    private void delete(List<Entry> entries, Map<Entry, String> failures) {
+        for (int start = 0; start < entries.size(); start += DELETE_GROUP_SIZE) {
+            List<Entry> group = entries.subList(start, Math.min(start + DELETE_GROUP_SIZE, entries.size()));
+            try {
+                deleteChunkVectors(group.stream().map(Entry::documentId).toList());
+            } catch (RuntimeException e) {
+                group.forEach(entry -> failures.put(entry, String.valueOf(e.getMessage())));
+            }
+        }
+    }
+
+    private void deleteChunkVectors(List<Long> documentIds) {
+        WhereFilter[] operands = documentIds.stream()
+            .map(id -> WhereFilter.builder()
+                .path(new String[]{"documentId"})
+                .operator(Operator.Equal)
+                .valueInt(id.intValue())
+                .build())
+            .toArray(WhereFilter[]::new);
+        WhereFilter filter = operands.length == 1
+            ? operands[0]
+            : WhereFilter.builder().operator(Operator.Or).operands(operands).build();
+
+        boolean limitReached;
+        do {
+            Result<BatchDeleteResponse> result = weaviateClient.batch().objectsBatchDeleter()
+                .withClassName(CLASS_NAME)
+                .withWhere(filter)
+                .run();
+            if (result.hasErrors()) {
+                throw new IllegalStateException("Weaviate batch delete failed: " + result.getError());
+            }
+
+            BatchDeleteResponse.Results results = result.getResult().getResults();
+            logger.info("Deleted {} chunks from Weaviate for {} documents", results.getSuccessful(), documentIds.size());
+            // A single batch delete is capped at Weaviate's query limit; repeat until nothing is left
+            limitReached = results.getLimit() != null
+                && results.getMatches() >= results.getLimit()
+                && results.getSuccessful() > 0;
+        } while (limitReached);
+    }
+
+    private void scheduleRetry(Entry entry, String error) {
+        int attempt = entry.attempts() + 1;
+        if (attempt >= maxAttempts) {
+            parked.increment();
+            logger.error("Giving up on {} of document {} after {} attempts: {}",
+                    entry.operation(), entry.documentId(), attempt, error);
+        } else {
+            logger.warn("{} of document {} failed (attempt {}), retrying: {}",
+                    entry.operation(), entry.documentId(), attempt, error);
+        }
+        failed(entry.operation()).increment();
+        outboxRepository.retry(entry.id(), error, backoff(attempt), maxAttempts);
+    }
+
+    private Duration backoff(int attempt) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+
+    private Counter relayed(Operation operation) {
+        return Counter.builder("vector.outbox.relayed")
+                .tag("operation", operation.name().toLowerCase())
+                .description("Vector operations applied in Weaviate")
+                .register(meterRegistry);
+    }
+
+    private Counter failed(Operation operation) {
+        return Counter.builder("vector.outbox.failures")
+                .tag("operation", operation.name().toLowerCase())
+                .description("Attempts to apply a vector operation that failed")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package de.tum.team_sigma.document_service.storage;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link ObjectStorageService}. Large uploads are split into
+ * parts that are transferred in parallel where the backend supports it, so callers can
+ * overlap storage I/O with parsing and indexing.
+ */
+public interface AsyncObjectStorageService {
+    CompletableFuture<Void> putObject(String key, InputStream inputStream, long size, String contentType);
+
+    // Completes with the backend's own stream type, hence the wildcard
+    CompletableFuture<? extends InputStream> getObject(String key);
+
+    CompletableFuture<Void> deleteObject(String key);
+} 
\ No newline at end of file
@@ -0,0 +1,314 @@
+package de.tum.team_sigma.document_service.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorator that keeps recently read objects in a size-bounded, least-recently-used cache
+ * on local disk. Writes and deletes go straight to the delegate and invalidate the cached
+ * copy.
+ *
+ * Concurrent misses for the same key are collapsed into a single fetch from the delegate;
+ * all callers wait for that download and are then served from the cached file. Cache hits
+ * are copied to the caller with {@link FileChannel#transferTo}.
+ */
+public class CachingObjectStorageService implements ObjectStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingObjectStorageService.class);
+
+    private static final String TEMP_SUFFIX = ".part";
+
+    private final ObjectStorageService delegate;
+    private final Path directory;
+    private final long maxBytes;
+
+    // Access-ordered index of cached file names to their size; guarded by indexLock
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private long currentBytes;
+
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+
+    public CachingObjectStorageService(ObjectStorageService delegate, Path directory, long maxBytes,
+                                       MeterRegistry meterRegistry) throws IOException {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+
+        Files.createDirectories(directory);
+        loadExistingEntries();
+
+        this.hits = Counter.builder("storage.cache.requests")
+                .tag("result", "hit")
+                .description("Object reads served from the local disk cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("storage.cache.requests")
+                .tag("result", "miss")
+                .description("Object reads fetched from the backing object store")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("storage.cache.bytes.saved")
+                .baseUnit("bytes")
+                .description("Bytes served from the local disk cache instead of the object store")
+                .register(meterRegistry);
+        Gauge.builder("storage.cache.hit.ratio", this, CachingObjectStorageService::hitRatio)
+                .description("Share of object reads served from the local disk cache")
+                .register(meterRegistry);
+        Gauge.builder("storage.cache.size", this, CachingObjectStorageService::currentBytes)
+                .baseUnit("bytes")
+                .description("Bytes currently held in the local disk cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void putObject(String key, InputStream inputStream, long size, String contentType) throws Exception {
+        delegate.putObject(key, inputStream, size, contentType);
+        invalidate(key);
+    }
+
+    @Override
+    public InputStream getObject(String key) throws Exception {
+        return Channels.newInputStream(open(key));
+    }
+
+    @Override
+    public long transferObject(String key, OutputStream outputStream) throws Exception {
+        try (FileChannel channel = open(key)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            return size;
+        }
+    }
+
+    @Override
+    public void deleteObject(String key) throws Exception {
+        delegate.deleteObject(key);
+        invalidate(key);
+    }
+
+    @Override
+    public void deleteObjects(Collection<String> keys) throws Exception {
+        delegate.deleteObjects(keys);
+        keys.forEach(this::invalidate);
+    }
+
+    @Override
+    public String getPresignedDownloadUrl(String key, String filename, String contentType, Duration expiry) throws Exception {
+        return delegate.getPresignedDownloadUrl(key, filename, contentType, expiry);
+    }
+
+    private FileChannel open(String key) throws Exception {
+        String name = fileName(key);
+
+        Long size = lookup(name);
+        if (size != null) {
+            try {
+                FileChannel channel = FileChannel.open(directory.resolve(name), StandardOpenOption.READ);
+                hits.increment();
+                bytesSaved.increment(size);
+                return channel;
+            } catch (NoSuchFileException e) {
+                // Evicted between lookup and open
+                remove(name);
+            }
+        }
+
+        return fetch(key, name);
+    }
+
+    /**
+     * Downloads the object once, even when several threads miss on the same key at the same
+     * time; the others wait and are then served from the cached file. Objects larger than the
+     * whole cache are handed out as a temporary file that is removed once the caller closes it.
+     */
+    private FileChannel fetch(String key, String name) throws Exception {
+        CompletableFuture<Void> download = new CompletableFuture<>();
+        CompletableFuture<Void> existing = inFlight.putIfAbsent(name, download);
+        if (existing != null) {
+            try {
+                existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+            return open(key);
+        }
+
+        misses.increment();
+        Path temp = Files.createTempFile(directory, name, TEMP_SUFFIX);
+        try {
+            long size;
+            try (InputStream in = delegate.getObject(key)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            if (size > maxBytes) {
+                logger.debug("Object {} ({} bytes) exceeds the cache size, not caching it", key, size);
+                return FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+            }
+
+            // Open before publishing so a concurrent eviction cannot pull the file away
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ);
+            Files.move(temp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            register(name, size);
+            return channel;
+        } catch (Exception e) {
+            deleteQuietly(temp);
+            download.completeExceptionally(e);
+            throw e;
+        } finally {
+            download.complete(null);
+            inFlight.remove(name, download);
+        }
+    }
+
+    private Long lookup(String name) {
+        indexLock.lock();
+        try {
+            return index.get(name);
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private void register(String name, long size) {
+        List<String> evicted = new ArrayList<>();
+        indexLock.lock();
+        try {
+            Long previous = index.put(name, size);
+            currentBytes += size - (previous != null ? previous : 0);
+
+            Iterator<Map.Entry<String, Long>> eldest = index.entrySet().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(name)) {
+                    continue;
+                }
+                currentBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        } finally {
+            indexLock.unlock();
+        }
+
+        // Readers that already opened an evicted file keep their handle, so deleting is safe
+        for (String evictedName : evicted) {
+            deleteQuietly(directory.resolve(evictedName));
+        }
+    }
+
+    private void invalidate(String key) {
+        String name = fileName(key);
+        remove(name);
+        deleteQuietly(directory.resolve(name));
+    }
+
+    private void remove(String name) {
+        indexLock.lock();
+        try {
+            Long size = index.remove(name);
+            if (size != null) {
+                currentBytes -= size;
+            }
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private void loadExistingEntries() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(file);
+                } else if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+
+        // Oldest first, so the most recently written files end up as most recently used
+        files.sort(Comparator.comparingLong(this::lastModified));
+        for (Path file : files) {
+            register(file.getFileName().toString(), Files.size(file));
+        }
+        logger.info("Local object cache at {} holds {} entries ({} bytes)", directory, index.size(), currentBytes);
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Failed to delete cached object file: {}", file, e);
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private double currentBytes() {
+        indexLock.lock();
+        try {
+            return currentBytes;
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    private static String fileName(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package de.tum.team_sigma.document_service.storage;
+
+import org.springframework.http.ContentDisposition;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Content-Disposition values for downloads, both served directly and set on pre-signed URLs.
+ * Quotes, separators and non-ASCII characters in the original filename are escaped or encoded
+ * (RFC 6266 {@code filename*}), so they cannot break the header.
+ */
+public final class ContentDispositions {
+
+    private ContentDispositions() {}
+
+    public static String attachment(String filename) {
+        return ContentDisposition.attachment()
+                .filename(filename, StandardCharsets.UTF_8)
+                .build()
+                .toString();
+    }
+}
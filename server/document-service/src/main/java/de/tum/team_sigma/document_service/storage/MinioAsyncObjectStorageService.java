@@ -0,0 +1,76 @@
+package de.tum.team_sigma.document_service.storage;
+
+import io.minio.GetObjectArgs;
+import io.minio.MinioAsyncClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectArgs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "minio", matchIfMissing = true)
+public class MinioAsyncObjectStorageService implements AsyncObjectStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MinioAsyncObjectStorageService.class);
+
+    private final MinioAsyncClient minioAsyncClient;
+    private final String bucketName;
+    private final long partSize;
+
+    public MinioAsyncObjectStorageService(MinioAsyncClient minioAsyncClient,
+                                          @Value("${minio.bucket-name}") String bucketName,
+                                          @Value("${storage.multipart.part-size:16MB}") DataSize partSize) {
+        this.minioAsyncClient = minioAsyncClient;
+        this.bucketName = bucketName;
+        this.partSize = partSize.toBytes();
+    }
+
+    @Override
+    public CompletableFuture<Void> putObject(String key, InputStream inputStream, long size, String contentType) {
+        try {
+            return minioAsyncClient.putObject(
+                            PutObjectArgs.builder()
+                                    .bucket(bucketName)
+                                    .object(key)
+                                    .stream(inputStream, size, partSize)
+                                    .contentType(contentType)
+                                    .build())
+                    .thenAccept(response -> logger.info("Stored object in MinIO: {}", key));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<? extends InputStream> getObject(String key) {
+        try {
+            return minioAsyncClient.getObject(
+                            GetObjectArgs.builder()
+                                    .bucket(bucketName)
+                                    .object(key)
+                                    .build());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteObject(String key) {
+        try {
+            return minioAsyncClient.removeObject(RemoveObjectArgs.builder()
+                            .bucket(bucketName)
+                            .object(key)
+                            .build())
+                    .thenRun(() -> logger.info("Deleted object from MinIO: {}", key));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+} 
\ No newline at end of file
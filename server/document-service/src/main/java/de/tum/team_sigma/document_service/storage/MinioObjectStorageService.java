@@ -4,13 +4,27 @@ import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import io.minio.GetObjectArgs;
 import io.minio.RemoveObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.GetPresignedObjectUrlArgs;
+import io.minio.http.Method;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @ConditionalOnProperty(name = "storage.type", havingValue = "minio", matchIfMissing = true)
@@ -19,11 +33,14 @@ public class MinioObjectStorageService implements ObjectStorageService {
     private static final Logger logger = LoggerFactory.getLogger(MinioObjectStorageService.class);
 
     private final MinioClient minioClient;
+    private final MinioClient presignClient;
     private final String bucketName;
 
     public MinioObjectStorageService(MinioClient minioClient,
+                                     @Qualifier("minioPresignClient") MinioClient presignClient,
                                      @Value("${minio.bucket-name}") String bucketName) {
         this.minioClient = minioClient;
+        this.presignClient = presignClient;
         this.bucketName = bucketName;
     }
 
@@ -56,4 +73,49 @@ public class MinioObjectStorageService implements ObjectStorageService {
                 .build());
         logger.info("Deleted object from MinIO: {}", key);
     }
+
+    @Override
+    public void deleteObjects(Collection<String> keys) throws Exception {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<DeleteObject> objects = keys.stream().map(DeleteObject::new).toList();
+        // The client sends multi-object delete requests of up to 1000 keys lazily while iterating
+        Iterable<Result<DeleteError>> results = minioClient.removeObjects(RemoveObjectsArgs.builder()
+                .bucket(bucketName)
+                .objects(objects)
+                .build());
+
+        List<String> failed = new ArrayList<>();
+        for (Result<DeleteError> result : results) {
+            DeleteError error = result.get();
+            logger.warn("Failed to delete object from MinIO: {} ({})", error.objectName(), error.message());
+            failed.add(error.objectName());
+        }
+        if (!failed.isEmpty()) {
+            throw new RuntimeException("Failed to delete " + failed.size() + " objects from MinIO");
+        }
+        logger.info("Deleted {} objects from MinIO", keys.size());
+    }
+
+    @Override
+    public String getPresignedDownloadUrl(String key, String filename, String contentType, Duration expiry) throws Exception {
+        Map<String, String> responseHeaders = new HashMap<>();
+        if (filename != null) {
+            responseHeaders.put("response-content-disposition", ContentDispositions.attachment(filename));
+        }
+        if (contentType != null) {
+            responseHeaders.put("response-content-type", contentType);
+        }
+
+        return presignClient.getPresignedObjectUrl(
+                GetPresignedObjectUrlArgs.builder()
+                        .method(Method.GET)
+                        .bucket(bucketName)
+                        .object(key)
+                        .expiry((int) expiry.getSeconds(), TimeUnit.SECONDS)
+                        .extraQueryParams(responseHeaders)
+                        .build());
+    }
 } 
\ No newline at end of file
@@ -1,11 +1,47 @@
 package de.tum.team_sigma.document_service.storage;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Collection;
 
 public interface ObjectStorageService {
     void putObject(String key, InputStream inputStream, long size, String contentType) throws Exception;
 
     InputStream getObject(String key) throws Exception;
 
+    /**
+     * Writes the object to the given stream and returns the number of bytes written.
+     * Implementations backed by local files can override this to avoid copying through
+     * heap buffers.
+     */
+    default long transferObject(String key, OutputStream outputStream) throws Exception {
+        try (InputStream inputStream = getObject(key)) {
+            return inputStream.transferTo(outputStream);
+        }
+    }
+
     void deleteObject(String key) throws Exception;
+
+    /**
+     * Deletes several objects with as few round trips as the backend allows. Throws if any
+     * of the objects could not be deleted.
+     */
+    default void deleteObjects(Collection<String> keys) throws Exception {
+        for (String key : keys) {
+            deleteObject(key);
+        }
+    }
+
+    /**
+     * Creates a short-lived, pre-signed GET URL for the given object so that clients can
+     * fetch the bytes directly from the object store instead of streaming them through
+     * this service.
+     *
+     * @param key         object key
+     * @param filename    filename to advertise via the response Content-Disposition header
+     * @param contentType content type to advertise via the response Content-Type header
+     * @param expiry      how long the URL stays valid
+     */
+    String getPresignedDownloadUrl(String key, String filename, String contentType, Duration expiry) throws Exception;
 } 
\ No newline at end of file
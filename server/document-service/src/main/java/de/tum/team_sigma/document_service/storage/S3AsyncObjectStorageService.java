@@ -0,0 +1,88 @@
+package de.tum.team_sigma.document_service.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Uses the multipart-enabled {@link S3AsyncClient}: uploads above the configured threshold
+ * are split into parts that are sent concurrently.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3AsyncObjectStorageService implements AsyncObjectStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3AsyncObjectStorageService.class);
+
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucketName;
+
+    // Reads caller-supplied input streams so the SDK's event loop never blocks on them
+    private final ExecutorService streamReader;
+
+    public S3AsyncObjectStorageService(S3AsyncClient s3AsyncClient,
+                                       @Value("${s3.bucket-name}") String bucketName,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                       @Value("${s3.stream-reader-threads:16}") int streamReaderThreads) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucketName = bucketName;
+        // Platform threads are bounded; further uploads wait in the queue for a reader
+        this.streamReader = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(streamReaderThreads, runnable -> {
+                    Thread thread = new Thread(runnable, "s3-stream-reader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public CompletableFuture<Void> putObject(String key, InputStream inputStream, long size, String contentType) {
+        return s3AsyncClient.putObject(
+                        PutObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .contentType(contentType)
+                                .build(),
+                        AsyncRequestBody.fromInputStream(inputStream, size, streamReader))
+                .thenAccept(response -> logger.info("Stored object in S3: {}", key));
+    }
+
+    @Override
+    public CompletableFuture<? extends InputStream> getObject(String key) {
+        return s3AsyncClient.getObject(
+                        GetObjectRequest.builder()
+                                .bucket(bucketName)
+                                .key(key)
+                                .build(),
+                        AsyncResponseTransformer.toBlockingInputStream());
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteObject(String key) {
+        return s3AsyncClient.deleteObject(DeleteObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .build())
+                .thenRun(() -> logger.info("Deleted object from S3: {}", key));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamReader.shutdown();
+    }
+} 
\ No newline at end of file
@@ -8,12 +8,22 @@ import org.springframework.stereotype.Service;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 @ConditionalOnProperty(name = "storage.type", havingValue = "s3")
@@ -21,12 +31,18 @@ public class S3ObjectStorageService implements ObjectStorageService {
 
     private static final Logger logger = LoggerFactory.getLogger(S3ObjectStorageService.class);
 
+    // Upper bound of keys accepted by a single DeleteObjects request
+    private static final int MAX_KEYS_PER_DELETE = 1000;
+
     private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
     private final String bucketName;
 
     public S3ObjectStorageService(S3Client s3Client,
+                                  S3Presigner s3Presigner,
                                   @Value("${s3.bucket-name}") String bucketName) {
         this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
         this.bucketName = bucketName;
     }
 
@@ -60,4 +76,50 @@ public class S3ObjectStorageService implements ObjectStorageService {
                 .build());
         logger.info("Deleted object from S3: {}", key);
     }
+
+    @Override
+    public void deleteObjects(Collection<String> keys) {
+        List<String> allKeys = new ArrayList<>(keys);
+        int failed = 0;
+        for (int start = 0; start < allKeys.size(); start += MAX_KEYS_PER_DELETE) {
+            List<ObjectIdentifier> batch = allKeys.subList(start, Math.min(start + MAX_KEYS_PER_DELETE, allKeys.size()))
+                    .stream()
+                    .map(key -> ObjectIdentifier.builder().key(key).build())
+                    .toList();
+
+            DeleteObjectsResponse response = s3Client.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucketName)
+                    .delete(Delete.builder().objects(batch).quiet(true).build())
+                    .build());
+
+            response.errors().forEach(error ->
+                    logger.warn("Failed to delete object from S3: {} ({})", error.key(), error.message()));
+            failed += response.errors().size();
+        }
+        if (failed > 0) {
+            throw new RuntimeException("Failed to delete " + failed + " objects from S3");
+        }
+        logger.info("Deleted {} objects from S3", keys.size());
+    }
+
+    @Override
+    public String getPresignedDownloadUrl(String key, String filename, String contentType, Duration expiry) {
+        GetObjectRequest.Builder getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key);
+        if (filename != null) {
+            getObjectRequest.responseContentDisposition(ContentDispositions.attachment(filename));
+        }
+        if (contentType != null) {
+            getObjectRequest.responseContentType(contentType);
+        }
+
+        return s3Presigner.presignGetObject(
+                GetObjectPresignRequest.builder()
+                        .signatureDuration(expiry)
+                        .getObjectRequest(getObjectRequest.build())
+                        .build())
+                .url()
+                .toString();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,36 @@
+-- Schema as previously created by Hibernate's ddl-auto. IF NOT EXISTS lets this run unchanged
+-- against databases that were set up before migrations existed (see baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS documents (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name              VARCHAR(255) NOT NULL,
+    original_filename VARCHAR(255) NOT NULL,
+    content_type      VARCHAR(255) NOT NULL,
+    file_size         BIGINT       NOT NULL,
+    minio_path        VARCHAR(255) NOT NULL,
+    description       TEXT,
+    lecture_id        VARCHAR(255),
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS document_chunks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    document_id BIGINT       NOT NULL,
+    weaviate_id VARCHAR(255) NOT NULL,
+    chunk_index INTEGER      NOT NULL,
+    chunk_text  TEXT,
+    created_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_document_chunks_weaviate_id UNIQUE (weaviate_id),
+    CONSTRAINT fk_document_chunks_document FOREIGN KEY (document_id) REFERENCES documents (id)
+);
+
+CREATE TABLE IF NOT EXISTS conversation_messages (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    document_id   BIGINT       NOT NULL,
+    message_index INTEGER      NOT NULL,
+    message_type  VARCHAR(16)  NOT NULL CHECK (message_type IN ('AI', 'HUMAN')),
+    content       TEXT         NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_conversation_messages_document_index UNIQUE (document_id, message_index)
+);
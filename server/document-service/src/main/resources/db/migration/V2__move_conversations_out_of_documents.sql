@@ -0,0 +1,35 @@
+-- Databases created before conversation_messages existed keep each chat in documents.conversation
+-- (jsonb). Copy those messages into conversation_messages and drop the column. Older rows were
+-- serialised with Jackson's default date handling, so createdAt may be an ISO string or an array
+-- of date/time fields.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'documents' AND column_name = 'conversation') THEN
+
+        INSERT INTO conversation_messages (document_id, message_index, message_type, content, created_at)
+        SELECT d.id,
+               (m.ordinality - 1)::int,
+               UPPER(m.value->>'messageType'),
+               COALESCE(m.value->>'content', ''),
+               CASE jsonb_typeof(m.value->'createdAt')
+                   WHEN 'string' THEN (m.value->>'createdAt')::timestamp
+                   WHEN 'array' THEN make_timestamp(
+                       (m.value->'createdAt'->>0)::int,
+                       (m.value->'createdAt'->>1)::int,
+                       (m.value->'createdAt'->>2)::int,
+                       COALESCE((m.value->'createdAt'->>3)::int, 0),
+                       COALESCE((m.value->'createdAt'->>4)::int, 0),
+                       COALESCE((m.value->'createdAt'->>5)::float8, 0)
+                           + COALESCE((m.value->'createdAt'->>6)::float8, 0) / 1e9)
+                   ELSE COALESCE(d.updated_at, d.created_at)
+               END
+        FROM documents d
+        CROSS JOIN LATERAL jsonb_array_elements(d.conversation) WITH ORDINALITY AS m(value, ordinality)
+        WHERE jsonb_typeof(d.conversation) = 'array'
+        ON CONFLICT (document_id, message_index) DO NOTHING;
+
+        ALTER TABLE documents DROP COLUMN conversation;
+    END IF;
+END $$;
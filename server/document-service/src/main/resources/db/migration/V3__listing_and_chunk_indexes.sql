@@ -0,0 +1,16 @@
+-- Indexes behind the hot lookups. Built CONCURRENTLY so existing tables stay writable while
+-- they are created. Flyway runs this script outside a transaction, and its migration lock must
+-- not be transactional (spring.flyway.postgresql.transactional-lock: false) or the build waits
+-- on the lock's open transaction forever.
+
+-- Lecture deletion and keyset pages of a lecture's documents (lecture_id = ? ORDER BY created_at, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_documents_lecture_created
+    ON documents (lecture_id, created_at, id);
+
+-- Keyset pages over all documents (ORDER BY created_at, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_documents_created
+    ON documents (created_at, id);
+
+-- findByDocumentIdOrderByChunkIndex, chunk counts and per-document chunk deletes
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_document_chunks_document_index
+    ON document_chunks (document_id, chunk_index);
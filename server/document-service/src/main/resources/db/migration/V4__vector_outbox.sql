@@ -0,0 +1,17 @@
+-- Weaviate writes still to be applied, recorded in the same transaction as the chunk rows.
+-- Rows are deleted once applied; failed_at marks entries the relay has given up on.
+
+CREATE TABLE vector_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    document_id     BIGINT       NOT NULL,
+    operation       VARCHAR(16)  NOT NULL CHECK (operation IN ('INDEX', 'DELETE')),
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    created_at      TIMESTAMP(6) NOT NULL DEFAULT now(),
+    next_attempt_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    failed_at       TIMESTAMP(6)
+);
+
+-- Claiming scans live entries in id order; the per-document lookup enforces relay order
+CREATE INDEX idx_vector_outbox_due ON vector_outbox (next_attempt_at, id) WHERE failed_at IS NULL;
+CREATE INDEX idx_vector_outbox_document ON vector_outbox (document_id, id) WHERE failed_at IS NULL;
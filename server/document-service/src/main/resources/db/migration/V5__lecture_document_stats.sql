@@ -0,0 +1,23 @@
+-- Per-lecture rollup of document counts and sizes, kept up to date by the transactions that
+-- upload and delete documents so lecture overviews never aggregate the documents table.
+-- Lectures without documents have no row.
+
+CREATE TABLE lecture_document_stats (
+    lecture_id      VARCHAR(255) PRIMARY KEY,
+    document_count  BIGINT       NOT NULL,
+    total_bytes     BIGINT       NOT NULL,
+    chunk_count     BIGINT       NOT NULL,
+    last_updated_at TIMESTAMP(6) NOT NULL
+);
+
+INSERT INTO lecture_document_stats (lecture_id, document_count, total_bytes, chunk_count, last_updated_at)
+SELECT d.lecture_id,
+       COUNT(*),
+       SUM(d.file_size),
+       COALESCE(SUM(c.chunks), 0),
+       MAX(COALESCE(d.updated_at, d.created_at))
+FROM documents d
+LEFT JOIN (SELECT document_id, COUNT(*) AS chunks FROM document_chunks GROUP BY document_id) c
+       ON c.document_id = d.id
+WHERE d.lecture_id IS NOT NULL
+GROUP BY d.lecture_id;
@@ -3,6 +3,7 @@ package de.tum.team_sigma.document_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import de.tum.team_sigma.document_service.storage.AsyncObjectStorageService;
 import de.tum.team_sigma.document_service.storage.ObjectStorageService;
 import io.weaviate.client.WeaviateClient;
 import dev.langchain4j.model.embedding.EmbeddingModel;
@@ -14,6 +15,9 @@ class DocumentServiceApplicationTests {
 	@MockBean
 	private ObjectStorageService storageService;
 
+	@MockBean
+	private AsyncObjectStorageService asyncStorageService;
+
 	@MockBean
 	private WeaviateClient weaviateClient;
 
@@ -0,0 +1,133 @@
+package de.tum.team_sigma.document_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY_LSN = "0/3000060";
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private PreparedStatement lagStatement;
+    private ResultSet lagResult;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(HikariDataSource.class);
+        replica = mock(HikariDataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        lagStatement = mock(PreparedStatement.class);
+        lagResult = mock(ResultSet.class);
+        Statement primaryStatement = mock(Statement.class);
+        ResultSet lsnResult = mock(ResultSet.class);
+
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(primaryConnection.createStatement()).thenReturn(primaryStatement);
+        when(primaryStatement.executeQuery(anyString())).thenReturn(lsnResult);
+        when(lsnResult.next()).thenReturn(true);
+        when(lsnResult.getString(1)).thenReturn(PRIMARY_LSN);
+
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(replica.getPoolName()).thenReturn("replica-0");
+        when(replicaConnection.prepareStatement(anyString())).thenReturn(lagStatement);
+        when(lagStatement.executeQuery()).thenReturn(lagResult);
+        when(lagResult.next()).thenReturn(true);
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void writesAlwaysGoToThePrimary() throws Exception {
+        when(lagResult.getDouble(1)).thenReturn(0.0);
+        start();
+        awaitLag(0.0);
+
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(0.0, meterRegistry.get("datasource.replica.selected").counter().count());
+    }
+
+    @Test
+    void readOnlyTransactionsUseAnUpToDateReplica() throws Exception {
+        when(lagResult.getDouble(1)).thenReturn(0.5);
+        start();
+        awaitLag(0.5);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, routing.getConnection());
+        assertEquals(1.0, meterRegistry.get("datasource.replica.selected").counter().count());
+    }
+
+    @Test
+    void lagIsMeasuredAgainstThePrimarysWalPosition() throws Exception {
+        when(lagResult.getDouble(1)).thenReturn(0.0);
+        start();
+        awaitLag(0.0);
+
+        verify(lagStatement).setString(1, PRIMARY_LSN);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() throws Exception {
+        when(lagResult.getDouble(1)).thenReturn(30.0);
+        start();
+        awaitLag(30.0);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(1.0, meterRegistry.get("datasource.replica.fallback").tag("reason", "lagging").counter().count());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        start();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routing.getConnection());
+        assertEquals(1.0, meterRegistry.get("datasource.replica.fallback").tag("reason", "unavailable").counter().count());
+    }
+
+    private void start() {
+        routing = new ReadReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(2),
+                Duration.ofHours(1), meterRegistry);
+    }
+
+    private void awaitLag(double expected) throws InterruptedException {
+        // The first probe runs right away on the checker thread
+        for (int i = 0; i < 200; i++) {
+            if (meterRegistry.get("datasource.replica.lag").gauge().value() == expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Replica lag was never probed");
+    }
+}
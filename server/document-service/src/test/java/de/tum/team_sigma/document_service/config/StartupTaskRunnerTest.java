@@ -0,0 +1,120 @@
+package de.tum.team_sigma.document_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupTaskRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StartupTaskRunner runner;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        runner.shutdown();
+    }
+
+    @Test
+    void readinessWaitsUntilEveryTaskSucceeded() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        StartupTask flaky = task("weaviate", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("connection refused");
+            }
+        });
+        runner = new StartupTaskRunner(List.of(task("minio", () -> { }), flaky), meterRegistry, true,
+                Duration.ofMillis(10), Duration.ofMillis(20));
+        StartupHealthIndicator health = new StartupHealthIndicator(runner);
+
+        assertEquals(Status.OUT_OF_SERVICE, health.health().getStatus());
+        assertEquals("pending", runner.status().get("weaviate"));
+
+        runner.start();
+        awaitReady();
+
+        assertEquals(Status.UP, health.health().getStatus());
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("startup.task.failures").tag("task", "weaviate").counter().count());
+        assertEquals(1.0, meterRegistry.get("startup.ready").gauge().value());
+    }
+
+    @Test
+    void laterPhaseStartsOnlyAfterEarlierPhaseSucceeded() throws InterruptedException {
+        AtomicInteger dependencyAttempts = new AtomicInteger();
+        StartupTask dependency = task("weaviate", () -> {
+            if (dependencyAttempts.incrementAndGet() < 2) {
+                throw new IllegalStateException("not ready");
+            }
+        });
+        List<Integer> seenByWarmup = new CopyOnWriteArrayList<>();
+        StartupTask warmup = new StartupTask() {
+            @Override
+            public String name() {
+                return "warmup";
+            }
+
+            @Override
+            public int phase() {
+                return 1;
+            }
+
+            @Override
+            public void run() {
+                seenByWarmup.add(dependencyAttempts.get());
+            }
+        };
+        runner = new StartupTaskRunner(List.of(warmup, dependency), meterRegistry, true,
+                Duration.ofMillis(10), Duration.ofMillis(20));
+
+        runner.start();
+        awaitReady();
+
+        assertEquals(List.of(2), seenByWarmup);
+    }
+
+    @Test
+    void disabledRunnerIsReadyWithoutRunningTasks() {
+        AtomicInteger runs = new AtomicInteger();
+        runner = new StartupTaskRunner(List.of(task("tika", runs::incrementAndGet)), meterRegistry, false,
+                Duration.ofMillis(10), Duration.ofMillis(20));
+
+        runner.start();
+
+        assertTrue(runner.isReady());
+        assertEquals(0, runs.get());
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!runner.isReady() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(runner.isReady(), () -> "not ready: " + runner.status());
+    }
+
+    private static StartupTask task(String name, ThrowingRunnable body) {
+        return new StartupTask() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void run() throws Exception {
+                body.run();
+            }
+        };
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,84 @@
+package de.tum.team_sigma.document_service.controller;
+
+import de.tum.team_sigma.document_service.dto.SimilarChunkResponse;
+import de.tum.team_sigma.document_service.service.DocumentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DocumentController.class)
+class DocumentControllerCachingTest {
+
+    private static final String CHUNKS_ETAG = "\"chunks-1-abc\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DocumentService documentService;
+
+    @Test
+    @DisplayName("GET /api/documents/{id}/chunks returns ETag and Cache-Control")
+    void chunksShouldCarryETag() throws Exception {
+        when(documentService.getChunksETag(1L)).thenReturn(CHUNKS_ETAG);
+        when(documentService.getAllDocumentChunks(1L))
+                .thenReturn(List.of(new SimilarChunkResponse(1L, 0, "First sentence.")));
+
+        mockMvc.perform(get("/api/documents/1/chunks"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, CHUNKS_ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(jsonPath("$[0].text").value("First sentence."));
+    }
+
+    @Test
+    @DisplayName("Matching If-None-Match short-circuits to 304 without loading chunks")
+    void matchingETagShouldReturnNotModified() throws Exception {
+        when(documentService.getChunksETag(1L)).thenReturn(CHUNKS_ETAG);
+
+        mockMvc.perform(get("/api/documents/1/chunks").header(HttpHeaders.IF_NONE_MATCH, CHUNKS_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, CHUNKS_ETAG));
+
+        verify(documentService, never()).getAllDocumentChunks(anyLong());
+    }
+
+    @Test
+    @DisplayName("Text is sent gzip-encoded only when Accept-Encoding allows gzip")
+    void textHonoursGzipQualityValues() throws Exception {
+        when(documentService.getTextETag(1L)).thenReturn("\"text-abc\"");
+
+        mockMvc.perform(get("/api/documents/1/text").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        mockMvc.perform(get("/api/documents/1/text").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/documents/1/text").header(HttpHeaders.ACCEPT_ENCODING, "*;q=0.5, gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("Matching If-None-Match on download skips the storage fetch")
+    void matchingDownloadETagShouldSkipStorage() throws Exception {
+        when(documentService.getDownloadETag(1L)).thenReturn("\"file-abc\"");
+
+        mockMvc.perform(get("/api/documents/1/download").header(HttpHeaders.IF_NONE_MATCH, "W/\"file-abc\""))
+                .andExpect(status().isNotModified());
+
+        verify(documentService, never()).getDocumentFileInfo(anyLong());
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,124 @@
+package de.tum.team_sigma.document_service.integration;
+
+import de.tum.team_sigma.document_service.model.Document;
+import de.tum.team_sigma.document_service.model.DocumentChunk;
+import de.tum.team_sigma.document_service.repository.DocumentChunkBulkWriter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares ways of persisting the chunks of one large document against a real PostgreSQL:
+ * one INSERT per row (what {@code saveAll} does with identity ids), JDBC batches with
+ * {@code reWriteBatchedInserts}, and {@code COPY FROM STDIN}. Each strategy runs inside a
+ * single transaction, like an upload does.
+ */
+@Testcontainers
+@Disabled("Benchmark; enable manually to compare chunk insert strategies")
+class DocumentChunkBulkInsertBenchmark {
+
+    private static final int CHUNK_COUNT = 10_000;
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withUrlParam("reWriteBatchedInserts", "true");
+
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+    private static DocumentChunkBulkWriter copyWriter;
+    private static DocumentChunkBulkWriter batchWriter;
+    private static Document document;
+
+    @BeforeAll
+    static void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        copyWriter = new DocumentChunkBulkWriter(dataSource, "copy", 1000);
+        batchWriter = new DocumentChunkBulkWriter(dataSource, "batch", 1000);
+
+        jdbcTemplate.execute("CREATE TABLE documents (id BIGSERIAL PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE document_chunks ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "document_id BIGINT NOT NULL REFERENCES documents(id), "
+                + "weaviate_id VARCHAR(255) NOT NULL UNIQUE, "
+                + "chunk_index INTEGER NOT NULL, "
+                + "chunk_text TEXT, "
+                + "created_at TIMESTAMP(6) NOT NULL)");
+        Long documentId = jdbcTemplate.queryForObject(
+                "INSERT INTO documents (name) VALUES ('benchmark') RETURNING id", Long.class);
+
+        document = new Document();
+        document.setId(documentId);
+    }
+
+    @Test
+    void compareInsertStrategies() {
+        long rowByRow = measure("row-by-row", chunks -> chunks.forEach(chunk -> jdbcTemplate.update(
+                "INSERT INTO document_chunks (document_id, weaviate_id, chunk_index, chunk_text, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                chunk.getDocument().getId(), chunk.getWeaviateId(), chunk.getChunkIndex(),
+                chunk.getChunkText(), Timestamp.valueOf(chunk.getCreatedAt()))));
+        long batch = measure("jdbc-batch", batchWriter::insert);
+        long copy = measure("copy", copyWriter::insert);
+
+        System.out.printf("chunk-insert speedup over row-by-row: jdbc-batch %.1fx, copy %.1fx%n",
+                (double) rowByRow / batch, (double) rowByRow / copy);
+    }
+
+    /** Returns the median wall time in microseconds and prints one result line per strategy. */
+    private long measure(String strategy, Consumer<List<DocumentChunk>> insert) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run(insert);
+        }
+        long[] samples = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            samples[i] = run(insert);
+        }
+        Arrays.sort(samples);
+        long median = samples[MEASURED_RUNS / 2];
+        System.out.printf("chunk-insert strategy=%s chunks=%d median_ms=%.2f min_ms=%.2f max_ms=%.2f%n",
+                strategy, CHUNK_COUNT, median / 1000.0, samples[0] / 1000.0, samples[MEASURED_RUNS - 1] / 1000.0);
+        return median;
+    }
+
+    private long run(Consumer<List<DocumentChunk>> insert) {
+        jdbcTemplate.execute("TRUNCATE document_chunks");
+        List<DocumentChunk> chunks = chunks();
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> insert.accept(chunks));
+        long elapsed = (System.nanoTime() - start) / 1000;
+
+        assertEquals(CHUNK_COUNT, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM document_chunks", Integer.class));
+        return elapsed;
+    }
+
+    private static List<DocumentChunk> chunks() {
+        List<DocumentChunk> chunks = new ArrayList<>(CHUNK_COUNT);
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            chunks.add(new DocumentChunk(document, UUID.randomUUID().toString(), i,
+                    "Sentence " + i + " of the benchmark document, with \"quotes\", commas and a newline\nin it."));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,200 @@
+package de.tum.team_sigma.document_service.service;
+
+import de.tum.team_sigma.document_service.dto.ConversationMessageResponse;
+import de.tum.team_sigma.document_service.exception.ConversationFlushException;
+import de.tum.team_sigma.document_service.model.ConversationMessage.MessageType;
+import de.tum.team_sigma.document_service.model.Document;
+import de.tum.team_sigma.document_service.repository.ConversationMessageRepository;
+import de.tum.team_sigma.document_service.repository.DocumentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ConversationWriteBufferTest {
+
+    private DocumentRepository documentRepository;
+    private ConversationMessageRepository conversationMessageRepository;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private ConversationWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        documentRepository = mock(DocumentRepository.class);
+        conversationMessageRepository = mock(ConversationMessageRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(documentRepository.findByIdForUpdate(anyLong())).thenAnswer(invocation -> Optional.of(new Document()));
+        when(conversationMessageRepository.findMaxMessageIndex(1L)).thenReturn(4);
+        when(conversationMessageRepository.findMaxMessageIndex(2L)).thenReturn(-1);
+
+        // A long window keeps the background flusher out of the way; tests flush explicitly.
+        // Without backoff a failed document can be retried by the next explicit flush.
+        buffer = new ConversationWriteBuffer(documentRepository, conversationMessageRepository, jdbcTemplate,
+                mock(PlatformTransactionManager.class), meterRegistry, Duration.ofHours(1), 100, 3, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        buffer.shutdown();
+    }
+
+    @Test
+    void appendsAreCoalescedIntoOneBatch() {
+        CompletableFuture<ConversationMessageResponse> first = buffer.append(1L, MessageType.HUMAN, "question");
+        CompletableFuture<ConversationMessageResponse> second = buffer.append(1L, MessageType.AI, "answer");
+        CompletableFuture<ConversationMessageResponse> other = buffer.append(2L, MessageType.HUMAN, "hello");
+        assertFalse(first.isDone());
+
+        buffer.flushAll();
+
+        ArgumentCaptor<Collection<?>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), rows.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(3, rows.getValue().size());
+
+        assertEquals(5, first.join().getMessageIndex());
+        assertEquals(6, second.join().getMessageIndex());
+        assertEquals(0, other.join().getMessageIndex());
+        assertEquals(3.0, meterRegistry.get("conversation.buffer.batch.size").summary().totalAmount());
+        assertEquals(0.0, meterRegistry.get("conversation.buffer.pending").gauge().value());
+    }
+
+    @Test
+    void flushForOneDocumentLeavesOthersQueued() {
+        CompletableFuture<ConversationMessageResponse> first = buffer.append(1L, MessageType.HUMAN, "question");
+        CompletableFuture<ConversationMessageResponse> other = buffer.append(2L, MessageType.HUMAN, "hello");
+
+        buffer.flush(1L);
+
+        assertTrue(first.isDone());
+        assertFalse(other.isDone());
+        verify(documentRepository, never()).findByIdForUpdate(2L);
+    }
+
+    @Test
+    void failedFlushIsRetried() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[0][]);
+        CompletableFuture<ConversationMessageResponse> message = buffer.append(1L, MessageType.HUMAN, "question");
+
+        assertThrows(DataAccessResourceFailureException.class, buffer::flushAll);
+        assertFalse(message.isDone());
+        assertEquals(1.0, meterRegistry.get("conversation.buffer.pending").gauge().value());
+        assertEquals(1.0, meterRegistry.get("conversation.buffer.flush.failures").counter().count());
+
+        buffer.flushAll();
+
+        assertEquals(5, message.join().getMessageIndex());
+    }
+
+    @Test
+    void failingDocumentDoesNotHoldBackOthers() throws SQLException {
+        rejectContent("poison");
+        CompletableFuture<ConversationMessageResponse> poisoned = buffer.append(1L, MessageType.HUMAN, "poison");
+        CompletableFuture<ConversationMessageResponse> other = buffer.append(2L, MessageType.HUMAN, "hello");
+
+        assertThrows(DataIntegrityViolationException.class, buffer::flushAll);
+
+        assertEquals(0, other.join().getMessageIndex());
+        assertFalse(poisoned.isDone());
+        assertEquals(1.0, meterRegistry.get("conversation.buffer.pending").gauge().value());
+    }
+
+    @Test
+    void rejectedMessageIsDroppedAfterTheLastAttempt() throws SQLException {
+        rejectContent("poison");
+        CompletableFuture<ConversationMessageResponse> poisoned = buffer.append(1L, MessageType.HUMAN, "poison");
+        CompletableFuture<ConversationMessageResponse> next = buffer.append(1L, MessageType.AI, "answer");
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            assertThrows(ConversationFlushException.class, () -> buffer.flush(1L));
+        }
+
+        // Written one by one after the last attempt: only the rejected message is lost
+        assertTrue(poisoned.isCompletedExceptionally());
+        assertEquals(5, next.join().getMessageIndex());
+        assertEquals(1.0, meterRegistry.get("conversation.buffer.dropped").counter().count());
+        assertEquals(0.0, meterRegistry.get("conversation.buffer.pending").gauge().value());
+        assertDoesNotThrow(() -> buffer.flush(1L));
+    }
+
+    @Test
+    void fullBufferWritesThroughWithTheDocumentsQueuedMessages() throws Exception {
+        rejectContent("poison");
+        ConversationWriteBuffer full = new ConversationWriteBuffer(documentRepository, conversationMessageRepository,
+                jdbcTemplate, mock(PlatformTransactionManager.class), meterRegistry, Duration.ofHours(1), 2, 3, Duration.ZERO);
+        try {
+            CompletableFuture<ConversationMessageResponse> first = full.append(1L, MessageType.HUMAN, "question");
+            CompletableFuture<ConversationMessageResponse> poisoned = full.append(2L, MessageType.HUMAN, "poison");
+
+            CompletableFuture<ConversationMessageResponse> second = full.append(1L, MessageType.AI, "answer");
+
+            // Written in order with the queued message; the other document's failure is not involved
+            assertEquals(5, first.join().getMessageIndex());
+            assertEquals(6, second.join().getMessageIndex());
+            assertFalse(poisoned.isDone());
+        } finally {
+            full.shutdown();
+        }
+    }
+
+    @Test
+    void messagesForDeletedDocumentsAreDropped() {
+        when(documentRepository.findByIdForUpdate(2L)).thenReturn(Optional.empty());
+        CompletableFuture<ConversationMessageResponse> message = buffer.append(2L, MessageType.HUMAN, "hello");
+
+        buffer.flushAll();
+
+        assertTrue(message.isCompletedExceptionally());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    // Batches containing a message with this content fail, as Postgres rejects e.g. a NUL character
+    private void rejectContent(String content) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        doThrow(new DataIntegrityViolationException("invalid byte sequence")).when(statement).setString(4, content);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<Object> rows = invocation.getArgument(1);
+                    ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+                    for (Object row : rows) {
+                        setter.setValues(statement, row);
+                    }
+                    return new int[0][];
+                });
+    }
+
+    @Test
+    void shutdownDrainsTheBuffer() throws InterruptedException {
+        CompletableFuture<ConversationMessageResponse> message = buffer.append(1L, MessageType.HUMAN, "question");
+
+        buffer.shutdown();
+
+        assertTrue(message.isDone());
+        // Late appends are written through
+        assertTrue(buffer.append(1L, MessageType.AI, "answer").isDone());
+    }
+}
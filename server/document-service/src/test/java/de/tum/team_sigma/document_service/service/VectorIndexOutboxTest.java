@@ -0,0 +1,123 @@
+package de.tum.team_sigma.document_service.service;
+
+import de.tum.team_sigma.document_service.repository.VectorOutboxRepository;
+import de.tum.team_sigma.document_service.repository.VectorOutboxRepository.Chunk;
+import de.tum.team_sigma.document_service.repository.VectorOutboxRepository.Entry;
+import de.tum.team_sigma.document_service.repository.VectorOutboxRepository.Operation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.weaviate.client.WeaviateClient;
+import io.weaviate.client.base.Result;
+import io.weaviate.client.v1.batch.model.BatchDeleteResponse;
+import io.weaviate.client.v1.batch.model.ObjectGetResponse;
+import io.weaviate.client.v1.data.model.WeaviateObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class VectorIndexOutboxTest {
+
+    private VectorOutboxRepository outboxRepository;
+    private WeaviateClient weaviateClient;
+    private SimpleMeterRegistry meterRegistry;
+    private VectorIndexOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(VectorOutboxRepository.class);
+        weaviateClient = mock(WeaviateClient.class, RETURNS_DEEP_STUBS);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(outboxRepository.findChunks(10L)).thenReturn(List.of(
+                new Chunk("00000000-0000-0000-0000-000000000001", 0, "First sentence."),
+                new Chunk("00000000-0000-0000-0000-000000000002", 1, "Second sentence.")));
+
+        // Relay disabled: tests drive it through relayOnce()
+        outbox = new VectorIndexOutbox(outboxRepository, weaviateClient, meterRegistry, false,
+                Duration.ofSeconds(1), 50, 100, 3, Duration.ofMinutes(5), Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        outbox.shutdown();
+    }
+
+    @Test
+    void indexEntryIsCompletedOnceAllChunksAreWritten() {
+        claim(new Entry(1L, 10L, Operation.INDEX, 0, LocalDateTime.now()));
+        Result<ObjectGetResponse[]> result = mock(Result.class);
+        when(result.getResult()).thenReturn(new ObjectGetResponse[0]);
+        when(weaviateClient.batch().objectsBatcher().withObjects(any(WeaviateObject[].class)).run()).thenReturn(result);
+
+        assertEquals(1, outbox.relayOnce());
+
+        ArgumentCaptor<WeaviateObject[]> objects = ArgumentCaptor.forClass(WeaviateObject[].class);
+        verify(weaviateClient.batch().objectsBatcher(), atLeastOnce()).withObjects(objects.capture());
+        assertEquals(2, objects.getValue().length);
+        assertEquals("00000000-0000-0000-0000-000000000001", objects.getValue()[0].getId());
+        verify(outboxRepository).complete(List.of(1L));
+        assertEquals(1.0, meterRegistry.get("vector.outbox.relayed").tag("operation", "index").counter().count());
+    }
+
+    @Test
+    void failedIndexIsRetriedWithBackoff() {
+        claim(new Entry(1L, 10L, Operation.INDEX, 1, LocalDateTime.now()));
+        Result<ObjectGetResponse[]> result = mock(Result.class);
+        when(result.hasErrors()).thenReturn(true);
+        when(weaviateClient.batch().objectsBatcher().withObjects(any(WeaviateObject[].class)).run()).thenReturn(result);
+
+        outbox.relayOnce();
+
+        // Second attempt: twice the initial backoff
+        verify(outboxRepository).retry(eq(1L), anyString(), eq(Duration.ofSeconds(4)), eq(3));
+        verify(outboxRepository, never()).complete(anyCollection());
+        assertEquals(0.0, meterRegistry.get("vector.outbox.parked").counter().count());
+    }
+
+    @Test
+    void entryIsParkedAfterTheLastAttempt() {
+        claim(new Entry(1L, 10L, Operation.INDEX, 2, LocalDateTime.now()));
+        when(weaviateClient.batch().objectsBatcher().withObjects(any(WeaviateObject[].class)).run())
+                .thenThrow(new RuntimeException("connection refused"));
+
+        outbox.relayOnce();
+
+        verify(outboxRepository).retry(eq(1L), eq("connection refused"), any(Duration.class), eq(3));
+        assertEquals(1.0, meterRegistry.get("vector.outbox.parked").counter().count());
+    }
+
+    @Test
+    void deleteEntriesShareOneFilteredBatchDelete() {
+        claim(new Entry(1L, 10L, Operation.DELETE, 0, LocalDateTime.now()),
+                new Entry(2L, 11L, Operation.DELETE, 0, LocalDateTime.now()));
+        BatchDeleteResponse.Results results = mock(BatchDeleteResponse.Results.class);
+        when(results.getSuccessful()).thenReturn(3L);
+        Result<BatchDeleteResponse> result = mock(Result.class, RETURNS_DEEP_STUBS);
+        when(result.getResult().getResults()).thenReturn(results);
+        when(weaviateClient.batch().objectsBatchDeleter().withClassName(anyString()).withWhere(any()).run())
+                .thenReturn(result);
+
+        assertEquals(2, outbox.relayOnce());
+
+        verify(outboxRepository).complete(List.of(1L, 2L));
+        verify(outboxRepository, never()).findChunks(anyLong());
+    }
+
+    private void claim(Entry... entries) {
+        when(outboxRepository.claim(anyInt(), any(Duration.class))).thenReturn(List.of(entries));
+    }
+}
@@ -0,0 +1,153 @@
+package de.tum.team_sigma.document_service.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingObjectStorageServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private CountingStorage delegate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new CountingStorage();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void repeatedReadsAreServedFromDisk() throws Exception {
+        delegate.objects.put("a", bytes("hello world"));
+        CachingObjectStorageService cache = new CachingObjectStorageService(delegate, cacheDir, 1024, meterRegistry);
+
+        assertEquals("hello world", read(cache, "a"));
+        assertEquals("hello world", transfer(cache, "a"));
+
+        assertEquals(1, delegate.reads.get());
+        assertEquals(0.5, meterRegistry.get("storage.cache.hit.ratio").gauge().value());
+        assertEquals(11.0, meterRegistry.get("storage.cache.bytes.saved").counter().count());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() throws Exception {
+        delegate.objects.put("a", new byte[40]);
+        delegate.objects.put("b", new byte[40]);
+        delegate.objects.put("c", new byte[40]);
+        CachingObjectStorageService cache = new CachingObjectStorageService(delegate, cacheDir, 100, meterRegistry);
+
+        read(cache, "a");
+        read(cache, "b");
+        read(cache, "a");
+        read(cache, "c"); // evicts b
+        read(cache, "a");
+        read(cache, "b");
+
+        assertEquals(4, delegate.reads.get());
+    }
+
+    @Test
+    void concurrentMissesAreCollapsedIntoOneFetch() throws Exception {
+        delegate.objects.put("a", bytes("slow object"));
+        delegate.gate = new CountDownLatch(1);
+        CachingObjectStorageService cache = new CachingObjectStorageService(delegate, cacheDir, 1024, meterRegistry);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> read(cache, "a")));
+            }
+            Thread.sleep(100);
+            delegate.gate.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("slow object", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, delegate.reads.get());
+    }
+
+    @Test
+    void deleteInvalidatesCachedCopy() throws Exception {
+        delegate.objects.put("a", bytes("v1"));
+        CachingObjectStorageService cache = new CachingObjectStorageService(delegate, cacheDir, 1024, meterRegistry);
+
+        read(cache, "a");
+        cache.deleteObject("a");
+        delegate.objects.put("a", bytes("v2"));
+
+        assertEquals("v2", read(cache, "a"));
+        assertEquals(2, delegate.reads.get());
+    }
+
+    private static String read(ObjectStorageService storage, String key) throws Exception {
+        try (InputStream in = storage.getObject(key)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String transfer(ObjectStorageService storage, String key) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        storage.transferObject(key, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class CountingStorage implements ObjectStorageService {
+        final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        final AtomicInteger reads = new AtomicInteger();
+        volatile CountDownLatch gate;
+
+        @Override
+        public void putObject(String key, InputStream inputStream, long size, String contentType) throws Exception {
+            objects.put(key, inputStream.readAllBytes());
+        }
+
+        @Override
+        public InputStream getObject(String key) throws Exception {
+            reads.incrementAndGet();
+            if (gate != null) {
+                gate.await();
+            }
+            return new ByteArrayInputStream(objects.get(key));
+        }
+
+        @Override
+        public void deleteObject(String key) {
+            objects.remove(key);
+        }
+
+        @Override
+        public String getPresignedDownloadUrl(String key, String filename, String contentType, Duration expiry) {
+            return "http://storage/" + key;
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package de.tum.team_sigma.lecture_service;
 
+import de.tum.team_sigma.lecture_service.config.NativeImageHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @EnableFeignClients
 @EnableJpaRepositories
+@ImportRuntimeHints(NativeImageHints.class)
 public class LectureServiceApplication {
 
 	public static void main(String[] args) {
@@ -1,13 +1,22 @@
 package de.tum.team_sigma.lecture_service.client;
 
+import de.tum.team_sigma.lecture_service.dto.LectureDocumentStats;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "document-service", url = "http://document-service:80")
+import java.util.List;
+
+// Resolved through Spring Cloud LoadBalancer, see DocumentServiceLoadBalancerConfig
+@FeignClient(name = "document-service")
 public interface DocumentServiceClient {
 
     @DeleteMapping("/api/documents/lecture/{lectureId}")
     ResponseEntity<Void> deleteDocumentsByLecture(@PathVariable("lectureId") String lectureId);
+
+    @GetMapping("/api/documents/lecture-stats")
+    List<LectureDocumentStats> getLectureStats(@RequestParam("lectureIds") List<String> lectureIds);
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package de.tum.team_sigma.lecture_service.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lists document-service instances without a discovery server. In {@code static} mode the
+ * instances are a fixed list of base URLs; in {@code dns} mode every address a host name
+ * resolves to is an instance, which with a headless Kubernetes service means one per pod.
+ * DNS is resolved again on each refetch; if a lookup fails the last known list is kept.
+ */
+public class DocumentServiceInstanceSupplier implements ServiceInstanceListSupplier {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DocumentServiceInstanceSupplier.class);
+    
+    public enum Mode { STATIC, DNS }
+    
+    private final String serviceId;
+    private final Mode mode;
+    private final List<ServiceInstance> staticInstances;
+    private final String dnsHost;
+    private final int dnsPort;
+    
+    private volatile List<ServiceInstance> lastResolved = List.of();
+    
+    public DocumentServiceInstanceSupplier(String serviceId, Mode mode, List<String> urls, String dnsHost, int dnsPort) {
+        this.serviceId = serviceId;
+        this.mode = mode;
+        this.staticInstances = urls.stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(this::toInstance)
+                .toList();
+        this.dnsHost = dnsHost;
+        this.dnsPort = dnsPort;
+    }
+    
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+    
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        if (mode == Mode.STATIC) {
+            return Flux.just(staticInstances);
+        }
+        // InetAddress lookups block
+        return Mono.fromCallable(this::resolve).subscribeOn(Schedulers.boundedElastic()).flux();
+    }
+    
+    List<ServiceInstance> resolve() {
+        try {
+            List<ServiceInstance> instances = Arrays.stream(InetAddress.getAllByName(dnsHost))
+                    .map(InetAddress::getHostAddress)
+                    .distinct()
+                    .sorted()
+                    .map(address -> (ServiceInstance) new DefaultServiceInstance(
+                            address + ":" + dnsPort, serviceId, address, dnsPort, false))
+                    .toList();
+            if (!instances.equals(lastResolved)) {
+                logger.info("{} resolves to {} instances: {}", dnsHost, instances.size(),
+                        instances.stream().map(ServiceInstance::getInstanceId).toList());
+            }
+            lastResolved = instances;
+        } catch (UnknownHostException e) {
+            logger.warn("Could not resolve {}, keeping {} known instances", dnsHost, lastResolved.size());
+        }
+        return lastResolved;
+    }
+    
+    private ServiceInstance toInstance(String url) {
+        URI uri = URI.create(url);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+        return new DefaultServiceInstance(uri.getHost() + ":" + port, serviceId, uri.getHost(), port, secure);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package de.tum.team_sigma.lecture_service.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the least loaded instance among the healthy ones, with "power of two choices": two
+ * instances are drawn at random and the one with the lower load wins. Load is the number of
+ * requests in flight times a moving average of response time, so a slow replica gets fewer
+ * requests, and the random draw keeps idle replicas from all losing to one fast replica.
+ *
+ * Registered as a {@link LoadBalancerLifecycle} in the same client context, which is how it
+ * learns when requests to an instance start and finish.
+ */
+public class LeastLoadedServiceInstanceLoadBalancer
+        implements ReactorServiceInstanceLoadBalancer, LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LeastLoadedServiceInstanceLoadBalancer.class);
+    
+    // Weight of the newest sample in the response time average
+    private static final double SMOOTHING = 0.3;
+    
+    // A failed request counts as at least this slow, so a failing replica is avoided
+    private static final double FAILURE_PENALTY_MILLIS = 1000;
+    
+    private final String serviceId;
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final Map<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+    // Keyed by identity: two identical requests in flight must not share a start time
+    private final Map<Request<?>, Long> startTimes = Collections.synchronizedMap(new IdentityHashMap<>());
+    
+    public LeastLoadedServiceInstanceLoadBalancer(String serviceId,
+                                                  ObjectProvider<ServiceInstanceListSupplier> supplierProvider) {
+        this.serviceId = serviceId;
+        this.supplierProvider = supplierProvider;
+    }
+    
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::select);
+    }
+    
+    Response<ServiceInstance> select(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            logger.warn("No healthy instance of {} available", serviceId);
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(load(a).score() <= load(b).score() ? a : b);
+    }
+    
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+    
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+    
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse.hasServer()) {
+            load(lbResponse.getServer()).outstanding.incrementAndGet();
+            startTimes.put(request, System.nanoTime());
+        }
+    }
+    
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceLoad load = load(lbResponse.getServer());
+        load.outstanding.decrementAndGet();
+        Long start = startTimes.remove(completionContext.getLoadBalancerRequest());
+        if (start != null) {
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            if (completionContext.status() == CompletionContext.Status.FAILED) {
+                millis = Math.max(millis, FAILURE_PENALTY_MILLIS);
+            }
+            load.record(millis);
+        }
+    }
+    
+    private InstanceLoad load(ServiceInstance instance) {
+        return loads.computeIfAbsent(instance.getInstanceId(), id -> new InstanceLoad());
+    }
+    
+    private static final class InstanceLoad {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        // Zero until the first response; a new instance then competes on requests in flight alone
+        private volatile double averageMillis;
+        
+        private synchronized void record(double millis) {
+            averageMillis = averageMillis == 0 ? millis : averageMillis + SMOOTHING * (millis - averageMillis);
+        }
+        
+        private double score() {
+            return (outstanding.get() + 1) * Math.max(averageMillis, 1.0);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package de.tum.team_sigma.lecture_service.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadConfigurationBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadProvider;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead around the Feign calls to document-service; every client
+ * method gets its own instance with these settings. Transport, pooling and timeouts are
+ * configured under {@code spring.cloud.openfeign} instead.
+ *
+ * The breaker opens when too many recent calls failed or were slow, after which calls fail
+ * immediately until document-service has had time to recover. The semaphore bulkhead caps how
+ * many request threads can be waiting on document-service at once; calls beyond that are
+ * rejected rather than queued, so a slow document-service cannot tie up every servlet thread.
+ * Both publish their state under {@code resilience4j.circuitbreaker.*} and
+ * {@code resilience4j.bulkhead.*}.
+ */
+@Configuration
+public class DocumentServiceClientConfig {
+
+    @Value("${document-service.client.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${document-service.client.circuit-breaker.slow-call-duration:10s}")
+    private Duration slowCallDuration;
+
+    @Value("${document-service.client.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${document-service.client.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${document-service.client.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${document-service.client.circuit-breaker.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${document-service.client.circuit-breaker.half-open-calls:3}")
+    private int halfOpenCalls;
+
+    @Value("${document-service.client.bulkhead.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${document-service.client.bulkhead.max-wait:0ms}")
+    private Duration maxWait;
+
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> documentServiceCircuitBreaker() {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        // The time limiter is switched off (spring.cloud.circuitbreaker.resilience4j.disable-time-limiter);
+        // the HTTP client's read timeout bounds each call instead
+        return factory -> factory.configureDefault(id -> new Resilience4JConfigBuilder(id)
+                .circuitBreakerConfig(circuitBreakerConfig)
+                .timeLimiterConfig(TimeLimiterConfig.ofDefaults())
+                .build());
+    }
+
+    @Bean
+    public Customizer<Resilience4jBulkheadProvider> documentServiceBulkhead() {
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+        return provider -> provider.configureDefault(id -> new Resilience4jBulkheadConfigurationBuilder()
+                .bulkheadConfig(bulkheadConfig)
+                .threadPoolBulkheadConfig(ThreadPoolBulkheadConfig.ofDefaults())
+                .build());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package de.tum.team_sigma.lecture_service.config;
+
+import de.tum.team_sigma.lecture_service.client.DocumentServiceInstanceSupplier;
+import de.tum.team_sigma.lecture_service.client.LeastLoadedServiceInstanceLoadBalancer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Client-side load balancing for calls to document-service. Feign resolves the client name
+ * through Spring Cloud LoadBalancer, which takes instances from
+ * {@link DocumentServiceInstanceSupplier}, drops those failing their health check
+ * ({@code spring.cloud.loadbalancer.health-check}) and lets
+ * {@link LeastLoadedServiceInstanceLoadBalancer} pick one of the rest.
+ */
+@Configuration
+@LoadBalancerClient(name = DocumentServiceLoadBalancerConfig.SERVICE_ID,
+        configuration = DocumentServiceLoadBalancerConfig.ClientConfiguration.class)
+public class DocumentServiceLoadBalancerConfig {
+
+    static final String SERVICE_ID = "document-service";
+
+    // Beans of the load balancer's per-client context; deliberately not a @Configuration so
+    // component scanning does not register them in the application context as well
+    static class ClientConfiguration {
+
+        @Bean
+        public ServiceInstanceListSupplier documentServiceInstances(
+                ConfigurableApplicationContext context,
+                @Value("${document-service.instances.mode:static}") String mode,
+                @Value("${document-service.instances.urls:http://document-service:80}") String urls,
+                @Value("${document-service.instances.dns-host:document-service}") String dnsHost,
+                @Value("${document-service.instances.dns-port:80}") int dnsPort,
+                @Value("${document-service.instances.health-check-timeout:2s}") Duration healthCheckTimeout) {
+            ServiceInstanceListSupplier base = new DocumentServiceInstanceSupplier(SERVICE_ID,
+                    DocumentServiceInstanceSupplier.Mode.valueOf(mode.toUpperCase()),
+                    Arrays.asList(urls.split(",")), dnsHost, dnsPort);
+
+            SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+            requestFactory.setConnectTimeout((int) healthCheckTimeout.toMillis());
+            requestFactory.setReadTimeout((int) healthCheckTimeout.toMillis());
+
+            return ServiceInstanceListSupplier.builder()
+                    .withBase(base)
+                    .withBlockingHealthChecks(new RestTemplate(requestFactory))
+                    .build(context);
+        }
+
+        @Bean
+        public LeastLoadedServiceInstanceLoadBalancer documentServiceLoadBalancer(
+                Environment environment, ObjectProvider<ServiceInstanceListSupplier> instances) {
+            String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME, SERVICE_ID);
+            return new LeastLoadedServiceInstanceLoadBalancer(serviceId, instances);
+        }
+    }
+}
\ No newline at end of file
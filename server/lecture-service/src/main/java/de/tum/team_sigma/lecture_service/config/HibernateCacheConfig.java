@@ -0,0 +1,89 @@
+package de.tum.team_sigma.lecture_service.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Second-level and query cache for Hibernate, backed by Caffeine through JCache. Regions are
+ * created up front with the sizes and TTLs configured under {@code hibernate-cache.regions};
+ * Hibernate fails at startup if an entity or query refers to a region that is not listed here.
+ * Hit, miss and put counts per region are published by Spring Boot's Hibernate metrics.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hibernate-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class HibernateCacheConfig {
+
+    private static final String LECTURES_REGION = "lectures";
+    private static final String LECTURE_QUERIES_REGION = "lecture-queries";
+
+    // Regions Hibernate always uses once the query cache is on
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${hibernate-cache.regions.lectures.max-size:10000}")
+    private long lecturesMaxSize;
+
+    @Value("${hibernate-cache.regions.lectures.ttl:10m}")
+    private Duration lecturesTtl;
+
+    @Value("${hibernate-cache.regions.lecture-queries.max-size:5000}")
+    private long lectureQueriesMaxSize;
+
+    @Value("${hibernate-cache.regions.lecture-queries.ttl:5m}")
+    private Duration lectureQueriesTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        createRegion(cacheManager, LECTURES_REGION, lecturesMaxSize, lecturesTtl);
+        createRegion(cacheManager, LECTURE_QUERIES_REGION, lectureQueriesMaxSize, lectureQueriesTtl);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, lectureQueriesMaxSize, lectureQueriesTtl);
+        // Must outlive every cached query result, otherwise stale results could be served
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, Duration.ZERO);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    /** A max size of 0 leaves the region unbounded, a zero TTL disables expiry. */
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (!ttl.isZero()) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        // The provider's default manager is shared, e.g. by several test contexts
+        if (cacheManager.getCache(name) != null) {
+            cacheManager.destroyCache(name);
+        }
+        cacheManager.createCache(name, configuration);
+    }
+} 
\ No newline at end of file
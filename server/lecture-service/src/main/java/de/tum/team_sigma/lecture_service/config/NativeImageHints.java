@@ -0,0 +1,37 @@
+package de.tum.team_sigma.lecture_service.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import de.tum.team_sigma.lecture_service.dto.CursorPage;
+import de.tum.team_sigma.lecture_service.dto.LectureDocumentStats;
+import de.tum.team_sigma.lecture_service.dto.LectureOverviewResponse;
+import de.tum.team_sigma.lecture_service.dto.LectureResponse;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reachability metadata for the native image that Spring AOT cannot derive on its own:
+ * types only reached through Feign decoding, JPQL constructor expressions or the NDJSON
+ * export, and classes that JCache and Hibernate load by name.
+ */
+public class NativeImageHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Jackson (de)serialization outside controller signatures: Feign responses and the export writer
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                LectureDocumentStats.class, LectureResponse.class, LectureOverviewResponse.class, CursorPage.class);
+
+        // "SELECT new ...LectureResponse(...)" is instantiated reflectively by Hibernate
+        hints.reflection().registerType(LectureResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Second-level cache: provider looked up by class name, region factory selected as "jcache"
+        hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(JCacheRegionFactory.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        // Caffeine's JCache adapter reads its defaults through Typesafe Config
+        hints.resources().registerPattern("reference.conf");
+        hints.resources().registerPattern("application.conf");
+    }
+} 
\ No newline at end of file
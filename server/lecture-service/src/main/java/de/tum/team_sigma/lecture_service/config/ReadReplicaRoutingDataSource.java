@@ -0,0 +1,190 @@
+package de.tum.team_sigma.lecture_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a streaming replica and everything else to
+ * the primary. Replicas are probed in the background; one that cannot be reached or whose
+ * replay lag behind the primary exceeds the configured tolerance is skipped until the next
+ * successful probe.
+ * When no replica qualifies, or opening a replica connection fails, the primary is used.
+ *
+ * The routing decision relies on the transaction's read-only flag, which Spring only sets
+ * after the connection would normally be fetched; wrap this in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+
+    // Measured against the primary's WAL position, not what the replica happened to receive, so a
+    // replica whose WAL receiver stalled does not report zero: zero once it has replayed up to the
+    // primary's position, otherwise the age of its last replayed commit (infinite if unknown)
+    private static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_wal_lsn_diff(?::pg_lsn, pg_last_wal_replay_lsn()) <= 0 THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::float8, "
+            + "'Infinity'::float8) END";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter lagFallbacks;
+    private final Counter unavailableFallbacks;
+
+    private final ScheduledExecutorService lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReadReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaDataSources,
+                                        Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+
+        for (HikariDataSource dataSource : replicaDataSources) {
+            Replica replica = new Replica(dataSource, Counter.builder("datasource.replica.selected")
+                    .tag("replica", dataSource.getPoolName())
+                    .description("Read-only transactions served by this replica")
+                    .register(meterRegistry));
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", dataSource.getPoolName())
+                    .baseUnit("seconds")
+                    .description("Replay lag of the replica at the last probe, NaN while unreachable")
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        this.lagFallbacks = Counter.builder("datasource.replica.fallback")
+                .tag("reason", "lagging")
+                .description("Read-only transactions sent to the primary because every replica lagged")
+                .register(meterRegistry);
+        this.unavailableFallbacks = Counter.builder("datasource.replica.fallback")
+                .tag("reason", "unavailable")
+                .description("Read-only transactions sent to the primary because no replica was reachable")
+                .register(meterRegistry);
+
+        long intervalMillis = Math.max(100, checkInterval.toMillis());
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+
+        boolean anyReachable = false;
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.reachable) {
+                continue;
+            }
+            anyReachable = true;
+            if (replica.lagSeconds > maxLagSeconds) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.selected.increment();
+                return connection;
+            } catch (SQLException e) {
+                logger.warn("Replica {} refused a connection, using the primary until it recovers",
+                        replica.dataSource.getPoolName(), e);
+                replica.markUnreachable();
+            }
+        }
+
+        (anyReachable ? lagFallbacks : unavailableFallbacks).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Per-call credentials are not supported");
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        // The primary pool is a bean of its own and is closed by the container
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private void checkReplicas() {
+        String primaryLsn;
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet resultSet = statement.executeQuery(PRIMARY_LSN_QUERY)) {
+                resultSet.next();
+                primaryLsn = resultSet.getString(1);
+            }
+        } catch (Exception e) {
+            // Without the primary's position lag cannot be judged; keep the last results
+            logger.warn("Could not read the primary's WAL position, skipping this replica check: {}", e.getMessage());
+            return;
+        }
+
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(LAG_QUERY)) {
+                statement.setQueryTimeout(2);
+                statement.setString(1, primaryLsn);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    replica.lagSeconds = resultSet.getDouble(1);
+                    replica.reachable = true;
+                }
+            } catch (Exception e) {
+                if (replica.reachable) {
+                    logger.warn("Replica {} is unreachable: {}", replica.dataSource.getPoolName(), e.getMessage());
+                }
+                replica.markUnreachable();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private final Counter selected;
+        private volatile boolean reachable;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource dataSource, Counter selected) {
+            this.dataSource = dataSource;
+            this.selected = selected;
+        }
+
+        private void markUnreachable() {
+            reachable = false;
+            lagSeconds = Double.NaN;
+        }
+    }
+}
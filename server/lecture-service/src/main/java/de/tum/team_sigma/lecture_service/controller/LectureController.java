@@ -1,5 +1,8 @@
 package de.tum.team_sigma.lecture_service.controller;
 
+import de.tum.team_sigma.lecture_service.dto.CursorPage;
+import de.tum.team_sigma.lecture_service.dto.LectureDeletionResponse;
+import de.tum.team_sigma.lecture_service.dto.LectureOverviewResponse;
 import de.tum.team_sigma.lecture_service.dto.LectureRequest;
 import de.tum.team_sigma.lecture_service.dto.LectureResponse;
 import de.tum.team_sigma.lecture_service.service.LectureService;
@@ -8,18 +11,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/lectures")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = LectureController.NEXT_CURSOR_HEADER)
 public class LectureController {
     
     private static final Logger logger = LoggerFactory.getLogger(LectureController.class);
     
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
     @Autowired
     private LectureService lectureService;
 
@@ -39,11 +49,31 @@ public class LectureController {
         }
     }
 
+    // Lectures with their document totals, for dashboards; replaces one document listing per lecture
+    @GetMapping("/overview")
+    public ResponseEntity<List<LectureOverviewResponse>> getLectureOverview(@RequestParam(required = false) String userId,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer limit) {
+        try {
+            return toResponse(lectureService.getLectureOverview(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected lecture overview: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error fetching lecture overview", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<LectureResponse>> getLecturesByUserId(@PathVariable String userId) {
+    public ResponseEntity<List<LectureResponse>> getLecturesByUserId(@PathVariable String userId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer limit) {
         try {
-            List<LectureResponse> lectures = lectureService.getLecturesByUserId(userId);
-            return ResponseEntity.ok(lectures);
+            return toResponse(lectureService.getLecturesByUserId(userId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected lecture listing for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error fetching lectures for user: {}", userId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -78,11 +108,14 @@ public class LectureController {
         }
     }
 
+    // The lecture is gone from reads immediately; its documents are removed in the background
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteLecture(@PathVariable Long id) {
+    public ResponseEntity<LectureDeletionResponse> deleteLecture(@PathVariable Long id) {
         try {
-            lectureService.deleteLecture(id);
-            return ResponseEntity.noContent().build();
+            LectureDeletionResponse deletion = lectureService.deleteLecture(id);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/lectures/" + id + "/deletion"))
+                    .body(deletion);
         } catch (RuntimeException e) {
             if (e.getMessage().contains("not found")) {
                 return ResponseEntity.notFound().build();
@@ -92,14 +125,57 @@ public class LectureController {
         }
     }
 
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<LectureDeletionResponse> getDeletionStatus(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(lectureService.getDeletionStatus(id));
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.notFound().build();
+            }
+            logger.error("Error fetching deletion status of lecture with ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<LectureResponse>> getAllLectures() {
+    public ResponseEntity<List<LectureResponse>> getAllLectures(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit) {
         try {
-            List<LectureResponse> lectures = lectureService.getAllLectures();
-            return ResponseEntity.ok(lectures);
+            return toResponse(lectureService.getAllLectures(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected lecture listing: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("Error fetching all lectures", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportAllLectures() {
+        return exportLectures(null);
+    }
+
+    @GetMapping(value = "/user/{userId}", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportLecturesByUserId(@PathVariable String userId) {
+        return exportLectures(userId);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportLectures(String userId) {
+        StreamingResponseBody body = outputStream -> {
+            long count = lectureService.exportLectures(userId, outputStream);
+            logger.info("Streamed {} lectures (user filter: {})", count, userId);
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // Pages are returned as plain arrays; the cursor for the next page travels in a header
+    private <T> ResponseEntity<List<T>> toResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 } 
\ No newline at end of file
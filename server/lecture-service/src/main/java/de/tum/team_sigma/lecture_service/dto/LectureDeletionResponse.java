@@ -0,0 +1,84 @@
+package de.tum.team_sigma.lecture_service.dto;
+
+import de.tum.team_sigma.lecture_service.model.LectureDeletion;
+import java.time.LocalDateTime;
+
+public class LectureDeletionResponse {
+    
+    private Long lectureId;
+    private LectureDeletion.Status status;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime requestedAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime completedAt;
+    
+    public LectureDeletionResponse() {
+    }
+    
+    public LectureDeletionResponse(LectureDeletion deletion) {
+        this.lectureId = deletion.getLectureId();
+        this.status = deletion.getStatus();
+        this.attempts = deletion.getAttempts();
+        this.lastError = deletion.getLastError();
+        this.requestedAt = deletion.getRequestedAt();
+        this.nextAttemptAt = deletion.getNextAttemptAt();
+        this.completedAt = deletion.getCompletedAt();
+    }
+    
+    public Long getLectureId() {
+        return lectureId;
+    }
+    
+    public void setLectureId(Long lectureId) {
+        this.lectureId = lectureId;
+    }
+    
+    public LectureDeletion.Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(LectureDeletion.Status status) {
+        this.status = status;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+    
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+} 
\ No newline at end of file
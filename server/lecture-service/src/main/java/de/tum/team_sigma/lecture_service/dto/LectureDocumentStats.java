@@ -0,0 +1,65 @@
+package de.tum.team_sigma.lecture_service.dto;
+
+import java.time.LocalDateTime;
+
+/** Per-lecture document totals as reported by document-service. */
+public class LectureDocumentStats {
+    
+    private String lectureId;
+    private long documentCount;
+    private long totalBytes;
+    private long chunkCount;
+    private LocalDateTime lastUpdatedAt;
+    
+    public LectureDocumentStats() {
+    }
+    
+    public LectureDocumentStats(String lectureId, long documentCount, long totalBytes, long chunkCount,
+                                LocalDateTime lastUpdatedAt) {
+        this.lectureId = lectureId;
+        this.documentCount = documentCount;
+        this.totalBytes = totalBytes;
+        this.chunkCount = chunkCount;
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+    
+    public String getLectureId() {
+        return lectureId;
+    }
+    
+    public void setLectureId(String lectureId) {
+        this.lectureId = lectureId;
+    }
+    
+    public long getDocumentCount() {
+        return documentCount;
+    }
+    
+    public void setDocumentCount(long documentCount) {
+        this.documentCount = documentCount;
+    }
+    
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+    
+    public void setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+    
+    public long getChunkCount() {
+        return chunkCount;
+    }
+    
+    public void setChunkCount(long chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+    
+    public LocalDateTime getLastUpdatedAt() {
+        return lastUpdatedAt;
+    }
+    
+    public void setLastUpdatedAt(LocalDateTime lastUpdatedAt) {
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+} 
\ No newline at end of file
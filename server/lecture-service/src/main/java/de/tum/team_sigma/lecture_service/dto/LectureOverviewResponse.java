@@ -0,0 +1,60 @@
+package de.tum.team_sigma.lecture_service.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A lecture together with the totals of its documents. The document fields are null when
+ * document-service could not be reached, so callers can tell "no documents" from "unknown".
+ */
+public class LectureOverviewResponse extends LectureResponse {
+    
+    private Long documentCount;
+    private Long totalBytes;
+    private Long chunkCount;
+    private LocalDateTime lastDocumentUpdateAt;
+    
+    public LectureOverviewResponse() {
+    }
+    
+    public LectureOverviewResponse(LectureResponse lecture, LectureDocumentStats stats) {
+        super(lecture.getId(), lecture.getName(), lecture.getCreatedBy(), lecture.getCreatedAt());
+        if (stats != null) {
+            this.documentCount = stats.getDocumentCount();
+            this.totalBytes = stats.getTotalBytes();
+            this.chunkCount = stats.getChunkCount();
+            this.lastDocumentUpdateAt = stats.getLastUpdatedAt();
+        }
+    }
+    
+    public Long getDocumentCount() {
+        return documentCount;
+    }
+    
+    public void setDocumentCount(Long documentCount) {
+        this.documentCount = documentCount;
+    }
+    
+    public Long getTotalBytes() {
+        return totalBytes;
+    }
+    
+    public void setTotalBytes(Long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+    
+    public Long getChunkCount() {
+        return chunkCount;
+    }
+    
+    public void setChunkCount(Long chunkCount) {
+        this.chunkCount = chunkCount;
+    }
+    
+    public LocalDateTime getLastDocumentUpdateAt() {
+        return lastDocumentUpdateAt;
+    }
+    
+    public void setLastDocumentUpdateAt(LocalDateTime lastDocumentUpdateAt) {
+        this.lastDocumentUpdateAt = lastDocumentUpdateAt;
+    }
+} 
\ No newline at end of file
@@ -1,10 +1,14 @@
 package de.tum.team_sigma.lecture_service.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "lectures")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lectures")
 public class Lecture {
     
     @Id
@@ -20,6 +24,10 @@ public class Lecture {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
+    // Set when deletion is requested; the row is purged once its documents are gone
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+    
     public Lecture() {
     }
     
@@ -61,6 +69,18 @@ public class Lecture {
         this.createdAt = createdAt;
     }
     
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+    
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+    
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
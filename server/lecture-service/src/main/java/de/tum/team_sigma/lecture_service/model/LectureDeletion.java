@@ -0,0 +1,121 @@
+package de.tum.team_sigma.lecture_service.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Durable record of a requested lecture deletion. The lecture is tombstoned when this row is
+ * written; the deletion worker then removes the lecture's documents and the purge step drops
+ * the lecture itself. The row outlives the lecture so the outcome can still be queried.
+ */
+@Entity
+@Table(name = "lecture_deletions")
+public class LectureDeletion {
+    
+    public enum Status {
+        /** Waiting for document-service to drop the lecture's documents. */
+        PENDING,
+        /** Documents are gone; the lecture row is about to be purged. */
+        DOCUMENTS_DELETED,
+        COMPLETED,
+        /** Gave up after the last attempt; deleting the lecture again re-arms it. */
+        FAILED
+    }
+    
+    @Id
+    @Column(name = "lecture_id")
+    private Long lectureId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private Status status;
+    
+    @Column(nullable = false)
+    private int attempts;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    public LectureDeletion() {
+    }
+    
+    public LectureDeletion(Long lectureId) {
+        this.lectureId = lectureId;
+        restart();
+    }
+    
+    /** Puts the deletion back at the start, due immediately. */
+    public void restart() {
+        this.status = Status.PENDING;
+        this.attempts = 0;
+        this.lastError = null;
+        this.requestedAt = LocalDateTime.now();
+        this.nextAttemptAt = this.requestedAt;
+        this.completedAt = null;
+    }
+    
+    public Long getLectureId() {
+        return lectureId;
+    }
+    
+    public void setLectureId(Long lectureId) {
+        this.lectureId = lectureId;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public int getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+    
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+    
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+    
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+} 
\ No newline at end of file
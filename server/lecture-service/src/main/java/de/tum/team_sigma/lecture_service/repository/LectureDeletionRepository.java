@@ -0,0 +1,35 @@
+package de.tum.team_sigma.lecture_service.repository;
+
+import de.tum.team_sigma.lecture_service.model.LectureDeletion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LectureDeletionRepository extends JpaRepository<LectureDeletion, Long> {
+    
+    // Hibernate's value for FOR UPDATE SKIP LOCKED: rows another worker holds are passed over, not waited on
+    String SKIP_LOCKED = "-2";
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = SKIP_LOCKED))
+    @Query("SELECT d FROM LectureDeletion d WHERE d.status = :status AND d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt")
+    List<LectureDeletion> findDueForUpdate(@Param("status") LectureDeletion.Status status,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM LectureDeletion d WHERE d.status = de.tum.team_sigma.lecture_service.model.LectureDeletion.Status.COMPLETED "
+            + "AND d.completedAt < :before")
+    int deleteCompletedBefore(@Param("before") LocalDateTime before);
+} 
\ No newline at end of file
@@ -1,21 +1,71 @@
 package de.tum.team_sigma.lecture_service.repository;
 
+import de.tum.team_sigma.lecture_service.dto.LectureResponse;
 import de.tum.team_sigma.lecture_service.model.Lecture;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface LectureRepository extends JpaRepository<Lecture, Long> {
     
-    List<Lecture> findByCreatedByOrderByCreatedAtDesc(String createdBy);
+    String RESPONSE_SELECT = "SELECT new de.tum.team_sigma.lecture_service.dto.LectureResponse("
+            + "l.id, l.name, l.createdBy, l.createdAt) FROM Lecture l ";
     
-    @Query("SELECT l FROM Lecture l WHERE LOWER(l.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY l.createdAt DESC")
+    // Lectures whose deletion is in progress are tombstoned and hidden from every listing
+    String ACTIVE = "WHERE l.deletedAt IS NULL ";
+    
+    // Keyset pagination, newest first: (createdAt, id) is unique, so pages never skip or repeat rows
+    String KEYSET_BEFORE = "(l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id < :id)) ";
+    String KEYSET_ORDER = "ORDER BY l.createdAt DESC, l.id DESC";
+    
+    String STREAM_FETCH_SIZE = "500";
+    
+    // Second-level query cache for the first page of the full listing, which most requests hit
+    String QUERY_CACHE_REGION = "lecture-queries";
+    
+    @Query("SELECT l FROM Lecture l WHERE l.deletedAt IS NULL AND LOWER(l.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY l.createdAt DESC")
     List<Lecture> findByNameContainingIgnoreCase(@Param("keyword") String keyword);
     
-    @Query("SELECT l FROM Lecture l WHERE l.createdBy = :userId AND LOWER(l.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY l.createdAt DESC")
+    @Query("SELECT l FROM Lecture l WHERE l.deletedAt IS NULL AND l.createdBy = :userId AND LOWER(l.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY l.createdAt DESC")
     List<Lecture> findByCreatedByAndNameContainingIgnoreCase(@Param("userId") String userId, @Param("keyword") String keyword);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query(RESPONSE_SELECT + ACTIVE + KEYSET_ORDER)
+    List<LectureResponse> findPage(Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + ACTIVE + "AND " + KEYSET_BEFORE + KEYSET_ORDER)
+    List<LectureResponse> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+    
+    // Not in the query cache: per-user pages are cached by UserLectureCache, which other replicas invalidate
+    @Query(RESPONSE_SELECT + ACTIVE + "AND l.createdBy = :userId " + KEYSET_ORDER)
+    List<LectureResponse> findPageByCreatedBy(@Param("userId") String userId, Pageable pageable);
+    
+    @Query(RESPONSE_SELECT + ACTIVE + "AND l.createdBy = :userId AND " + KEYSET_BEFORE + KEYSET_ORDER)
+    List<LectureResponse> findPageByCreatedByBefore(@Param("userId") String userId,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(RESPONSE_SELECT + ACTIVE + KEYSET_ORDER)
+    Stream<LectureResponse> streamAll();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(RESPONSE_SELECT + ACTIVE + "AND l.createdBy = :userId " + KEYSET_ORDER)
+    Stream<LectureResponse> streamByCreatedBy(@Param("userId") String userId);
 } 
\ No newline at end of file
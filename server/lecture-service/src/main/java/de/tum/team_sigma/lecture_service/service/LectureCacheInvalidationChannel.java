@@ -0,0 +1,143 @@
+package de.tum.team_sigma.lecture_service.service;
+
+import de.tum.team_sigma.lecture_service.model.Lecture;
+import de.tum.team_sigma.lecture_service.repository.LectureRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link UserLectureCache} of all lecture-service replicas coherent through
+ * Postgres {@code LISTEN/NOTIFY}, without a separate cache server. A change publishes the
+ * user's id with {@code pg_notify} inside its own transaction, so Postgres delivers it only
+ * if, and once, the change commits.
+ *
+ * A notice also evicts this replica's Hibernate {@code lectures} and {@code lecture-queries}
+ * regions, which the change only evicted on the replica that made it; otherwise the reload, or
+ * {@code getLectureById}, would be served the old state from there.
+ *
+ * Each replica listens on a dedicated connection outside the pool. Notifications sent while
+ * that connection is down are lost, so every (re)connect clears the whole cache.
+ */
+@Component
+@ConditionalOnProperty(name = "lecture-cache.notify.enabled", havingValue = "true")
+public class LectureCacheInvalidationChannel {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LectureCacheInvalidationChannel.class);
+    
+    static final String CHANNEL = "lecture_cache_invalidation";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final UserLectureCache cache;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    
+    private volatile boolean running = true;
+    
+    private final ExecutorService listener = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lecture-cache-listener");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public LectureCacheInvalidationChannel(DataSource dataSource,
+                                           @Lazy UserLectureCache cache,
+                                           EntityManagerFactory entityManagerFactory,
+                                           @Value("${spring.datasource.url}") String url,
+                                           @Value("${spring.datasource.username}") String username,
+                                           @Value("${spring.datasource.password}") String password,
+                                           @Value("${lecture-cache.notify.poll-timeout:10s}") Duration pollTimeout,
+                                           @Value("${lecture-cache.notify.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cache = cache;
+        this.entityManagerFactory = entityManagerFactory;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        listener.execute(this::listen);
+    }
+    
+    /** Tells every replica, this one included, to drop the user's lists once the current transaction commits. */
+    public void publish(String userId) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, userId);
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        listener.shutdownNow();
+        listener.awaitTermination(1, TimeUnit.SECONDS);
+    }
+    
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                evictSecondLevelCache();
+                cache.invalidateAll();
+                logger.info("Listening for lecture cache invalidations");
+                
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+                    if (notifications != null && notifications.length > 0) {
+                        // Before the per-user lists, so a reload cannot pick up the old rows again
+                        evictSecondLevelCache();
+                        for (PGNotification notification : notifications) {
+                            cache.invalidateRemote(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Lecture cache invalidation listener disconnected, reconnecting in {}: {}",
+                            reconnectDelay, e.getMessage());
+                    sleep(reconnectDelay);
+                }
+            }
+        }
+    }
+    
+    // The notice names the user, not the lecture, so the whole regions are dropped; writes are rare
+    private void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evict(Lecture.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(LectureRepository.QUERY_CACHE_REGION);
+    }
+    
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
\ No newline at end of file
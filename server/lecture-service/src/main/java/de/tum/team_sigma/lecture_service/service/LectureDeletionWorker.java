@@ -0,0 +1,260 @@
+package de.tum.team_sigma.lecture_service.service;
+
+import de.tum.team_sigma.lecture_service.client.DocumentServiceClient;
+import de.tum.team_sigma.lecture_service.model.Lecture;
+import de.tum.team_sigma.lecture_service.model.LectureDeletion;
+import de.tum.team_sigma.lecture_service.model.LectureDeletion.Status;
+import de.tum.team_sigma.lecture_service.repository.LectureDeletionRepository;
+import de.tum.team_sigma.lecture_service.repository.LectureRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carries out lecture deletions in the background. A deletion is recorded in
+ * {@code lecture_deletions} in the same transaction that tombstones the lecture; this worker
+ * then asks document-service to drop the lecture's documents, retrying with exponential
+ * backoff, and the purge step hard-deletes the lecture once that has succeeded.
+ *
+ * Due deletions are claimed with {@code FOR UPDATE SKIP LOCKED} and leased by pushing
+ * {@code next_attempt_at} forward, so several instances can run the worker without calling
+ * document-service twice for the same lecture, and no transaction stays open during the call.
+ * The document-service endpoint is idempotent, so a lease that expires mid-call only costs
+ * a repeated request.
+ */
+@Component
+public class LectureDeletionWorker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LectureDeletionWorker.class);
+    
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+    
+    private record Claim(Long lectureId, int attempts) {
+    }
+    
+    private final LectureDeletionRepository deletionRepository;
+    private final LectureRepository lectureRepository;
+    private final DocumentServiceClient documentServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean workerEnabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration retention;
+    
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lecture-deletion-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final Counter documentsDeleted;
+    private final Counter failures;
+    private final Counter abandoned;
+    private final Counter purged;
+    private final Timer duration;
+    
+    public LectureDeletionWorker(LectureDeletionRepository deletionRepository,
+                                 LectureRepository lectureRepository,
+                                 DocumentServiceClient documentServiceClient,
+                                 TransactionTemplate transactionTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${lecture-deletion.worker.enabled:true}") boolean workerEnabled,
+                                 @Value("${lecture-deletion.worker.interval:5s}") Duration interval,
+                                 @Value("${lecture-deletion.worker.batch-size:20}") int batchSize,
+                                 @Value("${lecture-deletion.worker.max-attempts:10}") int maxAttempts,
+                                 @Value("${lecture-deletion.worker.lease:2m}") Duration lease,
+                                 @Value("${lecture-deletion.worker.initial-backoff:5s}") Duration initialBackoff,
+                                 @Value("${lecture-deletion.retention:7d}") Duration retention) {
+        this.deletionRepository = deletionRepository;
+        this.lectureRepository = lectureRepository;
+        this.documentServiceClient = documentServiceClient;
+        this.transactionTemplate = transactionTemplate;
+        this.workerEnabled = workerEnabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.retention = retention;
+        
+        this.documentsDeleted = Counter.builder("lecture.deletion.documents.deleted")
+                .description("Lectures whose documents document-service has removed")
+                .register(meterRegistry);
+        this.failures = Counter.builder("lecture.deletion.failures")
+                .description("Attempts to remove a lecture's documents that failed")
+                .register(meterRegistry);
+        this.abandoned = Counter.builder("lecture.deletion.abandoned")
+                .description("Lecture deletions given up on after the maximum number of attempts")
+                .register(meterRegistry);
+        this.purged = Counter.builder("lecture.deletion.purged")
+                .description("Tombstoned lectures hard-deleted after their documents were removed")
+                .register(meterRegistry);
+        this.duration = Timer.builder("lecture.deletion.duration")
+                .description("Time from a deletion request until the lecture is purged")
+                .register(meterRegistry);
+        
+        if (workerEnabled) {
+            long intervalMillis = Math.max(100, interval.toMillis());
+            worker.scheduleWithFixedDelay(this::runQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * Records that the lecture must be deleted; must run inside the transaction that tombstones
+     * it. A deletion that is already underway is returned unchanged, one that failed for good
+     * is started over.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public LectureDeletion schedule(Long lectureId) {
+        LectureDeletion deletion = deletionRepository.findById(lectureId).orElse(null);
+        if (deletion == null) {
+            deletion = new LectureDeletion(lectureId);
+        } else if (deletion.getStatus() == Status.FAILED) {
+            deletion.restart();
+        } else {
+            return deletion;
+        }
+        deletion = deletionRepository.save(deletion);
+        
+        if (workerEnabled) {
+            // Start as soon as the tombstone is visible rather than waiting for the next tick
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    worker.execute(LectureDeletionWorker.this::runQuietly);
+                }
+            });
+        }
+        return deletion;
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    
+    private void runQuietly() {
+        try {
+            // Keep going while full batches come back, so a backlog drains without waiting for ticks
+            int claimed;
+            do {
+                claimed = deleteDocumentsOnce();
+                purgeOnce();
+            } while (claimed == batchSize);
+            transactionTemplate.executeWithoutResult(status ->
+                    deletionRepository.deleteCompletedBefore(LocalDateTime.now().minus(retention)));
+        } catch (RuntimeException e) {
+            logger.warn("Lecture deletion worker failed, will retry", e);
+        }
+    }
+    
+    /** Claims due deletions and removes their documents; returns the number claimed. */
+    int deleteDocumentsOnce() {
+        List<Claim> claims = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<LectureDeletion> due = deletionRepository.findDueForUpdate(Status.PENDING, now, PageRequest.ofSize(batchSize));
+            due.forEach(deletion -> deletion.setNextAttemptAt(now.plus(lease)));
+            return due.stream().map(deletion -> new Claim(deletion.getLectureId(), deletion.getAttempts())).toList();
+        });
+        if (claims == null) {
+            return 0;
+        }
+        
+        for (Claim claim : claims) {
+            // Called outside any transaction: document-service may take a while for large lectures
+            String error = deleteDocuments(claim.lectureId());
+            transactionTemplate.executeWithoutResult(status -> record(claim, error));
+        }
+        return claims.size();
+    }
+    
+    /** Hard-deletes lectures whose documents are gone; returns the number purged. */
+    int purgeOnce() {
+        Integer count = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<LectureDeletion> ready = deletionRepository.findDueForUpdate(Status.DOCUMENTS_DELETED, now, PageRequest.ofSize(batchSize));
+            for (LectureDeletion deletion : ready) {
+                lectureRepository.findById(deletion.getLectureId())
+                        .filter(Lecture::isDeleted)
+                        .ifPresent(lectureRepository::delete);
+                deletion.setStatus(Status.COMPLETED);
+                deletion.setCompletedAt(now);
+                purged.increment();
+                duration.record(Duration.between(deletion.getRequestedAt(), now));
+                logger.info("Purged lecture {}", deletion.getLectureId());
+            }
+            return ready.size();
+        });
+        return count != null ? count : 0;
+    }
+    
+    // Returns null on success, otherwise the reason the call failed
+    private String deleteDocuments(Long lectureId) {
+        try {
+            ResponseEntity<Void> response = documentServiceClient.deleteDocumentsByLecture(lectureId.toString());
+            if (response.getStatusCode().is2xxSuccessful()) {
+                return null;
+            }
+            return "document-service returned " + response.getStatusCode();
+        } catch (Exception e) {
+            return String.valueOf(e.getMessage());
+        }
+    }
+    
+    private void record(Claim claim, String error) {
+        LectureDeletion deletion = deletionRepository.findById(claim.lectureId()).orElse(null);
+        if (deletion == null || deletion.getStatus() != Status.PENDING) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (error == null) {
+            deletion.setStatus(Status.DOCUMENTS_DELETED);
+            deletion.setNextAttemptAt(now);
+            deletion.setLastError(null);
+            documentsDeleted.increment();
+            logger.info("Deleted documents of lecture {}", claim.lectureId());
+            return;
+        }
+        
+        int attempt = claim.attempts() + 1;
+        deletion.setAttempts(attempt);
+        deletion.setLastError(error);
+        failures.increment();
+        if (attempt >= maxAttempts) {
+            deletion.setStatus(Status.FAILED);
+            abandoned.increment();
+            logger.error("Giving up on deleting documents of lecture {} after {} attempts: {}",
+                    claim.lectureId(), attempt, error);
+        } else {
+            deletion.setNextAttemptAt(now.plus(backoff(attempt)));
+            logger.warn("Deleting documents of lecture {} failed (attempt {}), retrying: {}",
+                    claim.lectureId(), attempt, error);
+        }
+    }
+    
+    private Duration backoff(int attempt) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+} 
\ No newline at end of file
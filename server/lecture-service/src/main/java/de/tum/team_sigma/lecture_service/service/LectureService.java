@@ -1,19 +1,36 @@
 package de.tum.team_sigma.lecture_service.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import de.tum.team_sigma.lecture_service.client.DocumentServiceClient;
+import de.tum.team_sigma.lecture_service.dto.CursorPage;
+import de.tum.team_sigma.lecture_service.dto.LectureDeletionResponse;
+import de.tum.team_sigma.lecture_service.dto.LectureDocumentStats;
+import de.tum.team_sigma.lecture_service.dto.LectureOverviewResponse;
 import de.tum.team_sigma.lecture_service.dto.LectureRequest;
 import de.tum.team_sigma.lecture_service.dto.LectureResponse;
 import de.tum.team_sigma.lecture_service.model.Lecture;
+import de.tum.team_sigma.lecture_service.model.LectureDeletion;
+import de.tum.team_sigma.lecture_service.repository.LectureDeletionRepository;
 import de.tum.team_sigma.lecture_service.repository.LectureRepository;
-import de.tum.team_sigma.lecture_service.client.DocumentServiceClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -24,15 +41,34 @@ public class LectureService {
     @Autowired
     private LectureRepository lectureRepository;
     
+    @Autowired
+    private LectureDeletionRepository lectureDeletionRepository;
+    
+    @Autowired
+    private LectureDeletionWorker lectureDeletionWorker;
+    
     @Autowired
     private DocumentServiceClient documentServiceClient;
     
+    @Autowired
+    private UserLectureCache userLectureCache;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${pagination.default-page-size:100}")
+    private int defaultPageSize;
+    
+    @Value("${pagination.max-page-size:500}")
+    private int maxPageSize;
+    
     public LectureResponse createLecture(LectureRequest request) {
         try {
             logger.info("Creating new lecture: {} for user: {}", request.getName(), request.getUserId());
             
             Lecture lecture = new Lecture(request.getName(), request.getUserId());
             lecture = lectureRepository.save(lecture);
+            userLectureCache.invalidate(request.getUserId());
             
             logger.info("Lecture created successfully with ID: {}", lecture.getId());
             return new LectureResponse(lecture);
@@ -44,19 +80,28 @@ public class LectureService {
     }
     
     @Transactional(readOnly = true)
-    public List<LectureResponse> getLecturesByUserId(String userId) {
+    public CursorPage<LectureResponse> getLecturesByUserId(String userId, String cursor, Integer limit) {
         logger.info("Fetching lectures for user: {}", userId);
         
-        List<Lecture> lectures = lectureRepository.findByCreatedByOrderByCreatedAtDesc(userId);
-        
-        return lectures.stream()
-                .map(LectureResponse::new)
-                .collect(Collectors.toList());
+        int pageSize = resolvePageSize(limit);
+        return userLectureCache.get(userId, cursor, pageSize, () -> {
+            // Fetch one extra row to learn whether another page follows
+            PageRequest page = PageRequest.ofSize(pageSize + 1);
+            List<LectureResponse> rows;
+            if (cursor == null || cursor.isBlank()) {
+                rows = lectureRepository.findPageByCreatedBy(userId, page);
+            } else {
+                KeysetCursor before = KeysetCursor.decode(cursor);
+                rows = lectureRepository.findPageByCreatedByBefore(userId, before.getCreatedAt(), before.getId(), page);
+            }
+            return toCursorPage(rows, pageSize);
+        });
     }
     
     @Transactional(readOnly = true)
     public LectureResponse getLectureById(Long id) {
         Lecture lecture = lectureRepository.findById(id)
+                .filter(l -> !l.isDeleted())
                 .orElseThrow(() -> new RuntimeException("Lecture not found with id: " + id));
         
         return new LectureResponse(lecture);
@@ -67,10 +112,12 @@ public class LectureService {
             logger.info("Updating lecture with ID: {}", id);
             
             Lecture lecture = lectureRepository.findById(id)
+                    .filter(l -> !l.isDeleted())
                     .orElseThrow(() -> new RuntimeException("Lecture not found with id: " + id));
             
             lecture.setName(request.getName());
             lecture = lectureRepository.save(lecture);
+            userLectureCache.invalidate(lecture.getCreatedBy());
             
             logger.info("Lecture updated successfully: {}", lecture.getName());
             return new LectureResponse(lecture);
@@ -81,16 +128,27 @@ public class LectureService {
         }
     }
     
-    public void deleteLecture(Long id) {
+    /**
+     * Tombstones the lecture and hands the removal of its documents to the background
+     * {@link LectureDeletionWorker}; the lecture disappears from all reads right away and is
+     * purged once its documents are gone. Deleting a lecture whose deletion is underway
+     * returns the current status.
+     */
+    public LectureDeletionResponse deleteLecture(Long id) {
         try {
             logger.info("Deleting lecture with ID: {}", id);
             
             Lecture lecture = lectureRepository.findById(id)
                     .orElseThrow(() -> new RuntimeException("Lecture not found with id: " + id));
             
-            deleteAssociatedDocuments(id.toString());            
-            lectureRepository.delete(lecture);
-            logger.info("Lecture deleted successfully: {}", lecture.getName());
+            if (!lecture.isDeleted()) {
+                lecture.setDeletedAt(LocalDateTime.now());
+                lectureRepository.save(lecture);
+                userLectureCache.invalidate(lecture.getCreatedBy());
+            }
+            LectureDeletion deletion = lectureDeletionWorker.schedule(id);
+            logger.info("Lecture {} tombstoned, deletion is {}", id, deletion.getStatus());
+            return new LectureDeletionResponse(deletion);
             
         } catch (Exception e) {
             logger.error("Failed to delete lecture with ID: {}", id, e);
@@ -98,30 +156,94 @@ public class LectureService {
         }
     }
     
-    private void deleteAssociatedDocuments(String lectureId) {
-        try {
-            logger.info("Deleting associated documents for lecture: {}", lectureId);
-            
-            ResponseEntity<Void> response = documentServiceClient.deleteDocumentsByLecture(lectureId);
-            
-            if (response.getStatusCode().is2xxSuccessful()) {
-                logger.info("Successfully deleted documents for lecture: {}", lectureId);
-            } else {
-                logger.warn("Document deletion returned status: {} for lecture: {}", 
-                    response.getStatusCode(), lectureId);
-            }
-            
-        } catch (Exception e) {
-            logger.error("Failed to delete documents for lecture: {}", lectureId, e);
-        }
+    // Not read-only: a poll right after the delete must not go to a replica that has not seen it yet
+    public LectureDeletionResponse getDeletionStatus(Long id) {
+        LectureDeletion deletion = lectureDeletionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Lecture deletion not found for id: " + id));
+        
+        return new LectureDeletionResponse(deletion);
     }
 
     @Transactional(readOnly = true)
-    public List<LectureResponse> getAllLectures() {
+    public CursorPage<LectureResponse> getAllLectures(String cursor, Integer limit) {
         logger.info("Fetching all lectures");
         
-        return lectureRepository.findAll().stream()
-                .map(LectureResponse::new)
-                .collect(Collectors.toList());
+        int pageSize = resolvePageSize(limit);
+        PageRequest page = PageRequest.ofSize(pageSize + 1);
+        List<LectureResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = lectureRepository.findPage(page);
+        } else {
+            KeysetCursor before = KeysetCursor.decode(cursor);
+            rows = lectureRepository.findPageBefore(before.getCreatedAt(), before.getId(), page);
+        }
+        return toCursorPage(rows, pageSize);
+    }
+    
+    /**
+     * One page of lectures, optionally of one user, with the totals of their documents. The
+     * totals come from document-service in a single batch call made outside any transaction;
+     * if that call fails the page is still returned, without totals.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorPage<LectureOverviewResponse> getLectureOverview(String userId, String cursor, Integer limit) {
+        CursorPage<LectureResponse> page = userId != null
+                ? getLecturesByUserId(userId, cursor, limit)
+                : getAllLectures(cursor, limit);
+        
+        Map<String, LectureDocumentStats> stats = Map.of();
+        if (!page.getItems().isEmpty()) {
+            List<String> lectureIds = page.getItems().stream().map(lecture -> lecture.getId().toString()).toList();
+            try {
+                stats = documentServiceClient.getLectureStats(lectureIds).stream()
+                        .collect(Collectors.toMap(LectureDocumentStats::getLectureId, Function.identity(), (a, b) -> a));
+            } catch (Exception e) {
+                logger.warn("Document stats unavailable, returning lecture overview without them: {}", e.getMessage());
+            }
+        }
+        
+        Map<String, LectureDocumentStats> byLecture = stats;
+        List<LectureOverviewResponse> items = page.getItems().stream()
+                .map(lecture -> new LectureOverviewResponse(lecture, byLecture.get(lecture.getId().toString())))
+                .toList();
+        return new CursorPage<>(items, page.getNextCursor());
+    }
+    
+    /**
+     * Writes every matching lecture, newest first, as one JSON object per line. Rows are pulled
+     * from a server-side cursor, so memory use does not grow with the number of lectures.
+     */
+    @Transactional(readOnly = true)
+    public long exportLectures(String userId, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(LectureResponse.class);
+        long count = 0;
+        try (Stream<LectureResponse> rows = userId != null
+                ? lectureRepository.streamByCreatedBy(userId)
+                : lectureRepository.streamAll()) {
+            Iterator<LectureResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+                count++;
+            }
+        }
+        outputStream.flush();
+        return count;
+    }
+    
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+    
+    private CursorPage<LectureResponse> toCursorPage(List<LectureResponse> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<LectureResponse> items = rows.subList(0, pageSize);
+        LectureResponse last = items.get(pageSize - 1);
+        return new CursorPage<>(items, new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
     }
 } 
\ No newline at end of file
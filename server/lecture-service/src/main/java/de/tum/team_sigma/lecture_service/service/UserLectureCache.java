@@ -0,0 +1,154 @@
+package de.tum.team_sigma.lecture_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.tum.team_sigma.lecture_service.dto.CursorPage;
+import de.tum.team_sigma.lecture_service.dto.LectureResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache of each user's lecture list pages. A user's pages are dropped
+ * whenever one of their lectures is created, renamed or deleted; with
+ * {@code lecture-cache.notify.enabled} the other replicas are told through
+ * {@link LectureCacheInvalidationChannel}.
+ *
+ * Invalidating replaces the user's entry rather than clearing it, so a page loaded before the
+ * change lands in the discarded entry and is never served. For {@code settle-time} after an
+ * invalidation loaded pages are not stored at all, because a lagging read replica may still
+ * return the old list.
+ */
+@Component
+public class UserLectureCache {
+    
+    // Pages kept per user; deep paging beyond this is served but not cached
+    private static final int MAX_PAGES_PER_USER = 20;
+    
+    private record PageKey(String cursor, int limit) {
+    }
+    
+    private static final class UserLectures {
+        private final long cacheableFrom;
+        private final Map<PageKey, CursorPage<LectureResponse>> pages = new ConcurrentHashMap<>();
+        
+        private UserLectures(long cacheableFrom) {
+            this.cacheableFrom = cacheableFrom;
+        }
+        
+        private boolean cacheable() {
+            return System.nanoTime() - cacheableFrom >= 0 && pages.size() < MAX_PAGES_PER_USER;
+        }
+    }
+    
+    private final boolean enabled;
+    private final long settleNanos;
+    private final ObjectProvider<LectureCacheInvalidationChannel> invalidationChannel;
+    private final Cache<String, UserLectures> cache;
+    
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Counter remoteInvalidations;
+    
+    public UserLectureCache(MeterRegistry meterRegistry,
+                            ObjectProvider<LectureCacheInvalidationChannel> invalidationChannel,
+                            @Value("${lecture-cache.enabled:true}") boolean enabled,
+                            @Value("${lecture-cache.max-users:10000}") long maxUsers,
+                            @Value("${lecture-cache.ttl:10m}") Duration ttl,
+                            @Value("${lecture-cache.settle-time:2s}") Duration settleTime) {
+        this.enabled = enabled;
+        this.settleNanos = settleTime.toNanos();
+        this.invalidationChannel = invalidationChannel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+        
+        this.hits = Counter.builder("lecture.cache.requests")
+                .tag("result", "hit")
+                .description("Lecture list pages served from the per-user cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("lecture.cache.requests")
+                .tag("result", "miss")
+                .description("Lecture list pages loaded from the database")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("lecture.cache.invalidations")
+                .tag("source", "local")
+                .description("Per-user lecture lists dropped because this replica changed them")
+                .register(meterRegistry);
+        this.remoteInvalidations = Counter.builder("lecture.cache.invalidations")
+                .tag("source", "remote")
+                .description("Per-user lecture lists dropped on notice from another replica")
+                .register(meterRegistry);
+        Gauge.builder("lecture.cache.users", cache, Cache::estimatedSize)
+                .description("Users with cached lecture lists")
+                .register(meterRegistry);
+    }
+    
+    public CursorPage<LectureResponse> get(String userId, String cursor, int limit,
+                                           Supplier<CursorPage<LectureResponse>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        UserLectures entry = cache.get(userId, id -> new UserLectures(System.nanoTime()));
+        PageKey key = new PageKey(cursor != null ? cursor : "", limit);
+        CursorPage<LectureResponse> page = entry.pages.get(key);
+        if (page != null) {
+            hits.increment();
+            return page;
+        }
+        misses.increment();
+        page = loader.get();
+        if (entry.cacheable()) {
+            entry.pages.put(key, page);
+        }
+        return page;
+    }
+    
+    /**
+     * Drops the user's cached lists now and again once the current transaction commits, and
+     * tells the other replicas. Call from the transaction that changes the user's lectures.
+     */
+    public void invalidate(String userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        evict(userId);
+        invalidations.increment();
+        invalidationChannel.ifAvailable(channel -> channel.publish(userId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(userId);
+                }
+            });
+        }
+    }
+    
+    /** Drops the user's lists after another replica changed them. */
+    void invalidateRemote(String userId) {
+        evict(userId);
+        remoteInvalidations.increment();
+    }
+    
+    /** Drops everything, e.g. after notifications may have been missed. */
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    private void evict(String userId) {
+        cache.put(userId, new UserLectures(System.nanoTime() + settleNanos));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+-- Schema as previously created by Hibernate's ddl-auto. IF NOT EXISTS lets this run unchanged
+-- against databases that were set up before migrations existed (see baseline-on-migrate).
+
+CREATE TABLE IF NOT EXISTS lectures (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    created_by VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,12 @@
+-- Indexes behind the lecture listings. Built CONCURRENTLY so an existing table stays writable
+-- while they are created. Flyway runs this script outside a transaction, and its migration lock
+-- must not be transactional (spring.flyway.postgresql.transactional-lock: false) or the build
+-- waits on the lock's open transaction forever.
+
+-- Keyset pages per user (created_by = ? ORDER BY created_at DESC, id DESC)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_lectures_created_by_created
+    ON lectures (created_by, created_at, id);
+
+-- Keyset pages over all lectures (ORDER BY created_at DESC, id DESC)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_lectures_created
+    ON lectures (created_at, id);
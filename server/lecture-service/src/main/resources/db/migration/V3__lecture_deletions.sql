@@ -0,0 +1,19 @@
+-- Lecture deletion runs in the background: the lecture is tombstoned first and purged once
+-- document-service has removed its documents. lecture_deletions is the worker's durable queue
+-- and keeps the outcome queryable after the lecture row is gone, hence no foreign key.
+
+ALTER TABLE lectures ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+CREATE TABLE IF NOT EXISTS lecture_deletions (
+    lecture_id      BIGINT PRIMARY KEY,
+    status          VARCHAR(32) NOT NULL,
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    last_error      TEXT,
+    requested_at    TIMESTAMP(6) NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    completed_at    TIMESTAMP(6)
+);
+
+-- Worker claims (status = ? AND next_attempt_at <= now() ORDER BY next_attempt_at)
+CREATE INDEX IF NOT EXISTS idx_lecture_deletions_due
+    ON lecture_deletions (status, next_attempt_at);
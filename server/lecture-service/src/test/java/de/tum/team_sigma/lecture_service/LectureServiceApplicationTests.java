@@ -5,9 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.aot.DisabledInAotMode;
 
 @SpringBootTest
 @ActiveProfiles("test")
+// @MockBean contexts cannot be processed ahead of time; this one only runs on the JVM
+@DisabledInAotMode
 class LectureServiceApplicationTests {
 
 	@MockBean
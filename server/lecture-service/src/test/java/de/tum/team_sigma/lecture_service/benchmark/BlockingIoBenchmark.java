@@ -0,0 +1,193 @@
+package de.tum.team_sigma.lecture_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.tum.team_sigma.lecture_service.model.Lecture;
+import de.tum.team_sigma.lecture_service.repository.LectureRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of {@code GET /api/lectures/overview} while document-service takes
+ * {@code benchmark.backend-delay-ms} to answer, so every request blocks in Feign. Run through
+ * {@code ./gradlew blockingBenchmark}, which runs it once on platform and once on virtual threads
+ * and writes one JSON result per mode to {@code build/benchmark/}. Excluded from {@code test} and
+ * from test AOT processing.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    // Only the servlet threads may limit concurrency, not the client's bulkhead or pool
+    "document-service.client.bulkhead.max-concurrent-calls=100000",
+    "document-service.client.circuit-breaker.slow-call-duration=1m",
+    "spring.cloud.openfeign.httpclient.max-connections=5000",
+    "spring.cloud.openfeign.httpclient.max-connections-per-route=5000",
+    "spring.jpa.show-sql=false",
+    "logging.level.org.springframework.web=WARN",
+    "logging.level.de.tum.team_sigma.lecture_service=WARN"
+})
+@ActiveProfiles("test")
+@DisabledInAotMode
+class BlockingIoBenchmark {
+
+    private static final long BACKEND_DELAY_MS = Long.getLong("benchmark.backend-delay-ms", 200);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 10_000);
+    private static final String USER_ID = "benchmark-user";
+
+    private static HttpServer slowDocumentService;
+
+    @Autowired
+    private LectureRepository lectureRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @BeforeAll
+    static void startSlowDocumentService() throws IOException {
+        slowDocumentService = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+        slowDocumentService.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        slowDocumentService.createContext("/actuator/health", exchange -> respond(exchange, "{\"status\":\"UP\"}"));
+        slowDocumentService.createContext("/api/documents/lecture-stats", exchange -> {
+            try {
+                Thread.sleep(BACKEND_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String lectureIds = exchange.getRequestURI().getQuery().replaceFirst("^lectureIds=", "");
+            String stats = Arrays.stream(lectureIds.split(","))
+                .map(id -> "{\"lectureId\":\"" + id + "\",\"documentCount\":1,\"totalBytes\":1024,\"chunkCount\":4}")
+                .reduce((a, b) -> a + "," + b)
+                .orElse("");
+            respond(exchange, "[" + stats + "]");
+        });
+        slowDocumentService.start();
+    }
+
+    @AfterAll
+    static void stopSlowDocumentService() {
+        slowDocumentService.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void documentService(DynamicPropertyRegistry registry) {
+        registry.add("document-service.instances.urls",
+            () -> "http://localhost:" + slowDocumentService.getAddress().getPort());
+    }
+
+    @Test
+    void overviewThroughputAgainstSlowDocumentService() throws Exception {
+        lectureRepository.save(new Lecture("Benchmark Lecture", USER_ID));
+        URI uri = URI.create("http://localhost:" + port + "/api/lectures/overview?userId=" + USER_ID);
+
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            // Warm-up: JIT, connection pools and the load balancer's first health check
+            run(client, uri, Math.min(REQUESTS, 2 * CONCURRENCY));
+
+            long start = System.nanoTime();
+            Run run = run(client, uri, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(run.latenciesMicros);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("threads", virtualThreads ? "virtual" : "platform");
+            result.put("requests", REQUESTS);
+            result.put("concurrency", CONCURRENCY);
+            result.put("backendDelayMs", BACKEND_DELAY_MS);
+            result.put("throughputPerSecond", Math.round(REQUESTS / seconds));
+            result.put("p50Ms", percentile(run.latenciesMicros, 0.50) / 1000.0);
+            result.put("p99Ms", percentile(run.latenciesMicros, 0.99) / 1000.0);
+            result.put("errors", run.errors.get());
+
+            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result);
+            System.out.println(json);
+            String resultFile = System.getProperty("benchmark.result-file");
+            if (resultFile != null) {
+                File file = new File(resultFile);
+                file.getParentFile().mkdirs();
+                objectMapper.writeValue(file, result);
+            }
+
+            assertEquals(0, run.errors.get(), "requests failed or returned the overview without document stats");
+        }
+    }
+
+    private record Run(long[] latenciesMicros, AtomicInteger errors) {
+    }
+
+    private Run run(HttpClient client, URI uri, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                inFlight.acquire();
+                int index = i;
+                callers.execute(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        // A degraded overview (document-service call failed) has no document counts
+                        if (response.statusCode() != 200 || !response.body().contains("\"documentCount\":1")) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latencies[index] = (System.nanoTime() - start) / 1000;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return new Run(latencies, errors);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package de.tum.team_sigma.lecture_service.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@SuppressWarnings("unchecked")
+class LeastLoadedServiceInstanceLoadBalancerTest {
+
+    private final ServiceInstance first = new DefaultServiceInstance("10.0.0.1:80", "document-service", "10.0.0.1", 80, false);
+    private final ServiceInstance second = new DefaultServiceInstance("10.0.0.2:80", "document-service", "10.0.0.2", 80, false);
+
+    private LeastLoadedServiceInstanceLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        loadBalancer = new LeastLoadedServiceInstanceLoadBalancer("document-service",
+                mock(ObjectProvider.class));
+    }
+
+    @Test
+    void prefersInstanceWithFewerRequestsInFlight() {
+        start(first);
+        start(first);
+
+        for (int i = 0; i < 20; i++) {
+            assertSame(second, loadBalancer.select(List.of(first, second)).getServer());
+        }
+    }
+
+    @Test
+    void avoidsInstanceWhoseRequestsFailed() {
+        complete(start(first), first, CompletionContext.Status.FAILED);
+        complete(start(second), second, CompletionContext.Status.SUCCESS);
+
+        assertSame(second, loadBalancer.select(List.of(first, second)).getServer());
+    }
+
+    @Test
+    void returnsEmptyResponseWithoutHealthyInstances() {
+        assertFalse(loadBalancer.select(List.of()).hasServer());
+    }
+
+    @Test
+    void supportsServiceInstanceRequests() {
+        assertTrue(loadBalancer.supports(Object.class, Object.class, ServiceInstance.class));
+        assertFalse(loadBalancer.supports(Object.class, Object.class, String.class));
+    }
+
+    private Request<Object> start(ServiceInstance instance) {
+        Request<Object> request = new DefaultRequest<>();
+        loadBalancer.onStartRequest(request, new DefaultResponse(instance));
+        return request;
+    }
+
+    private void complete(Request<Object> request, ServiceInstance instance, CompletionContext.Status status) {
+        Response<ServiceInstance> response = new DefaultResponse(instance);
+        loadBalancer.onComplete(new CompletionContext<>(status, request, response));
+    }
+}
@@ -1,7 +1,10 @@
 package de.tum.team_sigma.lecture_service.controller;
 
+import de.tum.team_sigma.lecture_service.dto.CursorPage;
+import de.tum.team_sigma.lecture_service.dto.LectureDeletionResponse;
 import de.tum.team_sigma.lecture_service.dto.LectureRequest;
 import de.tum.team_sigma.lecture_service.dto.LectureResponse;
+import de.tum.team_sigma.lecture_service.model.LectureDeletion;
 import de.tum.team_sigma.lecture_service.service.LectureService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,9 +23,10 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.doNothing;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -56,18 +60,40 @@ public class LectureControllerTest {
         LectureResponse lecture2 = new LectureResponse(2L, "Physics 101", "user123", LocalDateTime.now());
         List<LectureResponse> lectures = Arrays.asList(lecture1, lecture2);
 
-        when(lectureService.getLecturesByUserId(anyString())).thenReturn(lectures);
+        when(lectureService.getLecturesByUserId(anyString(), any(), any())).thenReturn(new CursorPage<>(lectures, null));
 
         mockMvc.perform(get("/api/lectures/user/user123"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].name").value("Math 101"))
                 .andExpect(jsonPath("$[1].name").value("Physics 101"));
     }
 
+    @Test
+    public void testGetLecturesByUserId_ReturnsNextCursor() throws Exception {
+        List<LectureResponse> lectures = List.of(new LectureResponse(2L, "Physics 101", "user123", LocalDateTime.now()));
+        when(lectureService.getLecturesByUserId(eq("user123"), eq("abc"), eq(1)))
+                .thenReturn(new CursorPage<>(lectures, "next"));
+
+        mockMvc.perform(get("/api/lectures/user/user123").param("cursor", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    public void testGetLecturesByUserId_InvalidCursor() throws Exception {
+        when(lectureService.getLecturesByUserId(eq("user123"), eq("garbage"), isNull()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: garbage"));
+
+        mockMvc.perform(get("/api/lectures/user/user123").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testGetLecturesByUserId_ServiceError() throws Exception {
-        when(lectureService.getLecturesByUserId(anyString())).thenThrow(new RuntimeException("Service error"));
+        when(lectureService.getLecturesByUserId(anyString(), any(), any())).thenThrow(new RuntimeException("Service error"));
 
         mockMvc.perform(get("/api/lectures/user/user123"))
                 .andExpect(status().isInternalServerError());
@@ -191,10 +217,21 @@ public class LectureControllerTest {
 
     @Test
     public void testDeleteLecture() throws Exception {
-        doNothing().when(lectureService).deleteLecture(1L);
+        when(lectureService.deleteLecture(1L)).thenReturn(new LectureDeletionResponse(new LectureDeletion(1L)));
 
         mockMvc.perform(delete("/api/lectures/1"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/lectures/1/deletion"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    public void testGetDeletionStatus_NotFound() throws Exception {
+        when(lectureService.getDeletionStatus(999L))
+                .thenThrow(new RuntimeException("Lecture deletion not found for id: 999"));
+
+        mockMvc.perform(get("/api/lectures/999/deletion"))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -219,7 +256,7 @@ public class LectureControllerTest {
                 new LectureResponse(1L, "Math 101", "user123", LocalDateTime.now()),
                 new LectureResponse(2L, "Physics 101", "user456", LocalDateTime.now())
         );
-        when(lectureService.getAllLectures()).thenReturn(lectures);
+        when(lectureService.getAllLectures(any(), any())).thenReturn(new CursorPage<>(lectures, null));
 
         mockMvc.perform(get("/api/lectures"))
                 .andExpect(status().isOk())
@@ -230,7 +267,7 @@ public class LectureControllerTest {
 
     @Test
     public void testGetAllLectures_ServiceError() throws Exception {
-        when(lectureService.getAllLectures()).thenThrow(new RuntimeException("Service error"));
+        when(lectureService.getAllLectures(any(), any())).thenThrow(new RuntimeException("Service error"));
 
         mockMvc.perform(get("/api/lectures"))
                 .andExpect(status().isInternalServerError());
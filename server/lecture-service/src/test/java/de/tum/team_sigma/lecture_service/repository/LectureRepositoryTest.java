@@ -1,10 +1,13 @@
 package de.tum.team_sigma.lecture_service.repository;
 
+import de.tum.team_sigma.lecture_service.dto.LectureResponse;
 import de.tum.team_sigma.lecture_service.model.Lecture;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -20,11 +23,13 @@ class LectureRepositoryTest {
     @Autowired
     private TestEntityManager entityManager;
 
+    private static final Pageable FIRST_PAGE = PageRequest.ofSize(10);
+
     @Autowired
     private LectureRepository lectureRepository;
 
     @Test
-    void findByCreatedByOrderByCreatedAtDesc_ShouldReturnLecturesInCorrectOrder() {
+    void findPageByCreatedBy_ShouldReturnLecturesInCorrectOrder() {
         Lecture lecture1 = new Lecture("Math 101", "user123");
         lecture1.setCreatedAt(LocalDateTime.now().minusDays(2));
         
@@ -38,7 +43,7 @@ class LectureRepositoryTest {
         entityManager.persistAndFlush(lecture3);
         entityManager.persistAndFlush(lecture2);
 
-        List<Lecture> results = lectureRepository.findByCreatedByOrderByCreatedAtDesc("user123");
+        List<LectureResponse> results = lectureRepository.findPageByCreatedBy("user123", FIRST_PAGE);
 
         assertEquals(3, results.size());
         assertEquals("Chemistry 101", results.get(0).getName());
@@ -47,14 +52,14 @@ class LectureRepositoryTest {
     }
 
     @Test
-    void findByCreatedByOrderByCreatedAtDesc_ShouldReturnOnlyUserLectures() {
+    void findPageByCreatedBy_ShouldReturnOnlyUserLectures() {
         Lecture user1Lecture = new Lecture("Math 101", "user123");
         Lecture user2Lecture = new Lecture("Physics 101", "user456");
         
         entityManager.persistAndFlush(user1Lecture);
         entityManager.persistAndFlush(user2Lecture);
 
-        List<Lecture> results = lectureRepository.findByCreatedByOrderByCreatedAtDesc("user123");
+        List<LectureResponse> results = lectureRepository.findPageByCreatedBy("user123", FIRST_PAGE);
 
         assertEquals(1, results.size());
         assertEquals("Math 101", results.get(0).getName());
@@ -62,11 +67,26 @@ class LectureRepositoryTest {
     }
 
     @Test
-    void findByCreatedByOrderByCreatedAtDesc_ShouldReturnEmptyListWhenNoLectures() {
-        List<Lecture> results = lectureRepository.findByCreatedByOrderByCreatedAtDesc("nonexistent");
+    void findPageByCreatedBy_ShouldReturnEmptyListWhenNoLectures() {
+        List<LectureResponse> results = lectureRepository.findPageByCreatedBy("nonexistent", FIRST_PAGE);
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    void findPageByCreatedBy_ShouldSkipTombstonedLectures() {
+        Lecture active = new Lecture("Math 101", "user123");
+        Lecture deleted = new Lecture("Physics 101", "user123");
+        deleted.setDeletedAt(LocalDateTime.now());
+        
+        entityManager.persistAndFlush(active);
+        entityManager.persistAndFlush(deleted);
+
+        List<LectureResponse> results = lectureRepository.findPageByCreatedBy("user123", FIRST_PAGE);
+
+        assertEquals(1, results.size());
+        assertEquals("Math 101", results.get(0).getName());
+    }
+
     @Test
     void save_ShouldPersistLecture() {
         Lecture lecture = new Lecture("Test Lecture", "user123");
@@ -0,0 +1,142 @@
+package de.tum.team_sigma.lecture_service.service;
+
+import de.tum.team_sigma.lecture_service.client.DocumentServiceClient;
+import de.tum.team_sigma.lecture_service.model.Lecture;
+import de.tum.team_sigma.lecture_service.model.LectureDeletion;
+import de.tum.team_sigma.lecture_service.model.LectureDeletion.Status;
+import de.tum.team_sigma.lecture_service.repository.LectureDeletionRepository;
+import de.tum.team_sigma.lecture_service.repository.LectureRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LectureDeletionWorkerTest {
+
+    private LectureDeletionRepository deletionRepository;
+    private LectureRepository lectureRepository;
+    private DocumentServiceClient documentServiceClient;
+    private SimpleMeterRegistry meterRegistry;
+    private LectureDeletionWorker worker;
+
+    private LectureDeletion deletion;
+
+    @BeforeEach
+    void setUp() {
+        deletionRepository = mock(LectureDeletionRepository.class);
+        lectureRepository = mock(LectureRepository.class);
+        documentServiceClient = mock(DocumentServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+        deletion = new LectureDeletion(1L);
+        when(deletionRepository.findById(1L)).thenReturn(Optional.of(deletion));
+
+        // Worker disabled: tests drive it through deleteDocumentsOnce() and purgeOnce()
+        worker = new LectureDeletionWorker(deletionRepository, lectureRepository, documentServiceClient,
+                transactionTemplate, meterRegistry, false, Duration.ofSeconds(1), 20, 3,
+                Duration.ofMinutes(2), Duration.ofSeconds(5), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    void deletionMovesOnOnceDocumentsAreGone() {
+        due(Status.PENDING, deletion);
+        when(documentServiceClient.deleteDocumentsByLecture("1")).thenReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT));
+
+        assertEquals(1, worker.deleteDocumentsOnce());
+
+        assertEquals(Status.DOCUMENTS_DELETED, deletion.getStatus());
+        assertEquals(1.0, meterRegistry.get("lecture.deletion.documents.deleted").counter().count());
+    }
+
+    @Test
+    void failedDocumentDeletionIsRetriedWithBackoff() {
+        deletion.setAttempts(1);
+        due(Status.PENDING, deletion);
+        when(documentServiceClient.deleteDocumentsByLecture("1")).thenThrow(new RuntimeException("connection refused"));
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.deleteDocumentsOnce();
+
+        // Second attempt: twice the initial backoff
+        assertEquals(Status.PENDING, deletion.getStatus());
+        assertEquals(2, deletion.getAttempts());
+        assertEquals("connection refused", deletion.getLastError());
+        assertFalse(deletion.getNextAttemptAt().isBefore(before.plusSeconds(10)));
+        assertEquals(1.0, meterRegistry.get("lecture.deletion.failures").counter().count());
+    }
+
+    @Test
+    void deletionFailsAfterTheLastAttempt() {
+        deletion.setAttempts(2);
+        due(Status.PENDING, deletion);
+        when(documentServiceClient.deleteDocumentsByLecture("1"))
+                .thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        worker.deleteDocumentsOnce();
+
+        assertEquals(Status.FAILED, deletion.getStatus());
+        assertEquals(1.0, meterRegistry.get("lecture.deletion.abandoned").counter().count());
+    }
+
+    @Test
+    void purgeHardDeletesTombstonedLecture() {
+        Lecture lecture = new Lecture("Test Lecture", "user123");
+        lecture.setId(1L);
+        lecture.setDeletedAt(LocalDateTime.now());
+        deletion.setStatus(Status.DOCUMENTS_DELETED);
+        due(Status.DOCUMENTS_DELETED, deletion);
+        when(lectureRepository.findById(1L)).thenReturn(Optional.of(lecture));
+
+        assertEquals(1, worker.purgeOnce());
+
+        verify(lectureRepository).delete(lecture);
+        assertEquals(Status.COMPLETED, deletion.getStatus());
+        assertNotNull(deletion.getCompletedAt());
+    }
+
+    @Test
+    void scheduleRestartsFailedDeletion() {
+        deletion.setStatus(Status.FAILED);
+        deletion.setAttempts(3);
+        when(deletionRepository.save(deletion)).thenReturn(deletion);
+
+        LectureDeletion scheduled = worker.schedule(1L);
+
+        assertEquals(Status.PENDING, scheduled.getStatus());
+        assertEquals(0, scheduled.getAttempts());
+    }
+
+    @Test
+    void scheduleLeavesDeletionInProgressAlone() {
+        deletion.setStatus(Status.DOCUMENTS_DELETED);
+
+        assertSame(deletion, worker.schedule(1L));
+        verify(deletionRepository, never()).save(any());
+    }
+
+    private void due(Status status, LectureDeletion... deletions) {
+        when(deletionRepository.findDueForUpdate(eq(status), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(deletions));
+    }
+}
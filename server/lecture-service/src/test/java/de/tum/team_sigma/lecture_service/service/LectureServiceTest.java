@@ -1,19 +1,28 @@
 package de.tum.team_sigma.lecture_service.service;
 
 import de.tum.team_sigma.lecture_service.client.DocumentServiceClient;
+import de.tum.team_sigma.lecture_service.dto.CursorPage;
+import de.tum.team_sigma.lecture_service.dto.LectureDeletionResponse;
+import de.tum.team_sigma.lecture_service.dto.LectureDocumentStats;
+import de.tum.team_sigma.lecture_service.dto.LectureOverviewResponse;
 import de.tum.team_sigma.lecture_service.dto.LectureRequest;
 import de.tum.team_sigma.lecture_service.dto.LectureResponse;
 import de.tum.team_sigma.lecture_service.model.Lecture;
+import de.tum.team_sigma.lecture_service.model.LectureDeletion;
+import de.tum.team_sigma.lecture_service.repository.LectureDeletionRepository;
 import de.tum.team_sigma.lecture_service.repository.LectureRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -21,7 +30,10 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +42,12 @@ class LectureServiceTest {
     @Mock
     private LectureRepository lectureRepository;
 
+    @Mock
+    private LectureDeletionRepository lectureDeletionRepository;
+
+    @Mock
+    private LectureDeletionWorker lectureDeletionWorker;
+
     @Mock
     private DocumentServiceClient documentServiceClient;
 
@@ -38,6 +56,7 @@ class LectureServiceTest {
 
     private Lecture mockLecture;
     private LectureRequest mockRequest;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
@@ -48,6 +67,15 @@ class LectureServiceTest {
         mockRequest = new LectureRequest();
         mockRequest.setName("Test Lecture");
         mockRequest.setUserId("user123");
+
+        ReflectionTestUtils.setField(lectureService, "defaultPageSize", 100);
+        ReflectionTestUtils.setField(lectureService, "maxPageSize", 500);
+
+        meterRegistry = new SimpleMeterRegistry();
+        @SuppressWarnings("unchecked")
+        ObjectProvider<LectureCacheInvalidationChannel> noChannel = mock(ObjectProvider.class);
+        ReflectionTestUtils.setField(lectureService, "userLectureCache", new UserLectureCache(
+            meterRegistry, noChannel, true, 100, Duration.ofMinutes(10), Duration.ZERO));
     }
 
     @Test
@@ -75,18 +103,141 @@ class LectureServiceTest {
 
     @Test
     void getLecturesByUserId_Success() {
-        List<Lecture> mockLectures = Arrays.asList(
-            mockLecture,
-            new Lecture("Another Lecture", "user123")
+        List<LectureResponse> mockLectures = Arrays.asList(
+            new LectureResponse(mockLecture),
+            new LectureResponse(new Lecture("Another Lecture", "user123"))
         );
-        when(lectureRepository.findByCreatedByOrderByCreatedAtDesc("user123")).thenReturn(mockLectures);
+        when(lectureRepository.findPageByCreatedBy(eq("user123"), any(Pageable.class))).thenReturn(mockLectures);
 
-        List<LectureResponse> result = lectureService.getLecturesByUserId("user123");
+        CursorPage<LectureResponse> result = lectureService.getLecturesByUserId("user123", null, null);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Test Lecture", result.get(0).getName());
-        verify(lectureRepository, times(1)).findByCreatedByOrderByCreatedAtDesc("user123");
+        assertEquals(2, result.getItems().size());
+        assertEquals("Test Lecture", result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+        verify(lectureRepository, times(1)).findPageByCreatedBy(eq("user123"), argThat(page -> page.getPageSize() == 101));
+    }
+
+    @Test
+    void getLecturesByUserId_ServesRepeatedRequestsFromCache() {
+        when(lectureRepository.findPageByCreatedBy(eq("user123"), any(Pageable.class)))
+            .thenReturn(List.of(new LectureResponse(mockLecture)));
+
+        lectureService.getLecturesByUserId("user123", null, null);
+        CursorPage<LectureResponse> cached = lectureService.getLecturesByUserId("user123", null, null);
+
+        assertEquals(1, cached.getItems().size());
+        verify(lectureRepository, times(1)).findPageByCreatedBy(eq("user123"), any(Pageable.class));
+        assertEquals(1.0, meterRegistry.get("lecture.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void createLecture_InvalidatesOnlyTheOwnersCachedLectures() {
+        when(lectureRepository.findPageByCreatedBy(anyString(), any(Pageable.class))).thenReturn(List.of());
+        when(lectureRepository.save(any(Lecture.class))).thenReturn(mockLecture);
+        lectureService.getLecturesByUserId("user123", null, null);
+        lectureService.getLecturesByUserId("user456", null, null);
+
+        lectureService.createLecture(mockRequest);
+        lectureService.getLecturesByUserId("user123", null, null);
+        lectureService.getLecturesByUserId("user456", null, null);
+
+        verify(lectureRepository, times(2)).findPageByCreatedBy(eq("user123"), any(Pageable.class));
+        verify(lectureRepository, times(1)).findPageByCreatedBy(eq("user456"), any(Pageable.class));
+    }
+
+    @Test
+    void getLecturesByUserId_DoesNotCacheWithinSettleTime() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<LectureCacheInvalidationChannel> noChannel = mock(ObjectProvider.class);
+        ReflectionTestUtils.setField(lectureService, "userLectureCache", new UserLectureCache(
+            meterRegistry, noChannel, true, 100, Duration.ofMinutes(10), Duration.ofMinutes(1)));
+        when(lectureRepository.findPageByCreatedBy(eq("user123"), any(Pageable.class))).thenReturn(List.of());
+        when(lectureRepository.findById(1L)).thenReturn(Optional.of(mockLecture));
+        when(lectureRepository.save(any(Lecture.class))).thenReturn(mockLecture);
+
+        lectureService.updateLecture(1L, mockRequest);
+        lectureService.getLecturesByUserId("user123", null, null);
+        lectureService.getLecturesByUserId("user123", null, null);
+
+        // A replica may still return the list from before the update, so neither read is kept
+        verify(lectureRepository, times(2)).findPageByCreatedBy(eq("user123"), any(Pageable.class));
+    }
+
+    @Test
+    void getLectureOverview_MergesDocumentStats() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        when(lectureRepository.findPageByCreatedBy(eq("user123"), any(Pageable.class))).thenReturn(Arrays.asList(
+            new LectureResponse(2L, "Second", "user123", createdAt),
+            new LectureResponse(1L, "First", "user123", createdAt.minusDays(1))
+        ));
+        when(documentServiceClient.getLectureStats(List.of("2", "1"))).thenReturn(List.of(
+            new LectureDocumentStats("2", 0, 0, 0, null),
+            new LectureDocumentStats("1", 3, 4096, 42, createdAt)
+        ));
+
+        CursorPage<LectureOverviewResponse> result = lectureService.getLectureOverview("user123", null, null);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(0L, result.getItems().get(0).getDocumentCount());
+        assertEquals(3L, result.getItems().get(1).getDocumentCount());
+        assertEquals(42L, result.getItems().get(1).getChunkCount());
+        verify(documentServiceClient, times(1)).getLectureStats(anyList());
+    }
+
+    @Test
+    void getLectureOverview_WithoutStatsWhenDocumentServiceFails() {
+        when(lectureRepository.findPage(any(Pageable.class))).thenReturn(List.of(new LectureResponse(mockLecture)));
+        when(documentServiceClient.getLectureStats(anyList())).thenThrow(new RuntimeException("circuit open"));
+
+        CursorPage<LectureOverviewResponse> result = lectureService.getLectureOverview(null, null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals("Test Lecture", result.getItems().get(0).getName());
+        assertNull(result.getItems().get(0).getDocumentCount());
+    }
+
+    @Test
+    void getLecturesByUserId_ReturnsCursorWhenMoreRowsExist() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<LectureResponse> rows = Arrays.asList(
+            new LectureResponse(3L, "Third", "user123", createdAt),
+            new LectureResponse(2L, "Second", "user123", createdAt),
+            new LectureResponse(1L, "First", "user123", createdAt.minusDays(1))
+        );
+        when(lectureRepository.findPageByCreatedBy(eq("user123"), any(Pageable.class))).thenReturn(rows);
+
+        CursorPage<LectureResponse> result = lectureService.getLecturesByUserId("user123", null, 2);
+
+        assertEquals(2, result.getItems().size());
+        assertNotNull(result.getNextCursor());
+
+        KeysetCursor cursor = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals(2L, cursor.getId());
+
+        when(lectureRepository.findPageByCreatedByBefore(eq("user123"), eq(createdAt), eq(2L), any(Pageable.class)))
+            .thenReturn(List.of(rows.get(2)));
+
+        CursorPage<LectureResponse> next = lectureService.getLecturesByUserId("user123", result.getNextCursor(), 2);
+
+        assertEquals(1, next.getItems().size());
+        assertEquals("First", next.getItems().get(0).getName());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void getLecturesByUserId_ClampsLimitToMaxPageSize() {
+        when(lectureRepository.findPageByCreatedBy(eq("user123"), any(Pageable.class))).thenReturn(List.of());
+
+        lectureService.getLecturesByUserId("user123", null, 10_000);
+
+        verify(lectureRepository).findPageByCreatedBy(eq("user123"), argThat(page -> page.getPageSize() == 501));
+    }
+
+    @Test
+    void getLecturesByUserId_RejectsInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> lectureService.getLecturesByUserId("user123", "not-a-cursor", null));
     }
 
     @Test
@@ -138,16 +289,30 @@ class LectureServiceTest {
     }
 
     @Test
-    void deleteLecture_Success() {
+    void deleteLecture_TombstonesAndSchedulesDeletion() {
         when(lectureRepository.findById(1L)).thenReturn(Optional.of(mockLecture));
-        when(documentServiceClient.deleteDocumentsByLecture(anyString()))
-            .thenReturn(new ResponseEntity<>(HttpStatus.OK));
+        when(lectureDeletionWorker.schedule(1L)).thenReturn(new LectureDeletion(1L));
+
+        LectureDeletionResponse result = lectureService.deleteLecture(1L);
+
+        assertTrue(mockLecture.isDeleted());
+        assertEquals(LectureDeletion.Status.PENDING, result.getStatus());
+        verify(lectureRepository, times(1)).save(mockLecture);
+        verify(lectureDeletionWorker, times(1)).schedule(1L);
+        verify(lectureRepository, never()).delete(any(Lecture.class));
+    }
+
+    @Test
+    void deleteLecture_KeepsExistingTombstone() {
+        LocalDateTime deletedAt = LocalDateTime.now().minusMinutes(5);
+        mockLecture.setDeletedAt(deletedAt);
+        when(lectureRepository.findById(1L)).thenReturn(Optional.of(mockLecture));
+        when(lectureDeletionWorker.schedule(1L)).thenReturn(new LectureDeletion(1L));
 
         lectureService.deleteLecture(1L);
 
-        verify(lectureRepository, times(1)).findById(1L);
-        verify(documentServiceClient, times(1)).deleteDocumentsByLecture("1");
-        verify(lectureRepository, times(1)).delete(mockLecture);
+        assertEquals(deletedAt, mockLecture.getDeletedAt());
+        verify(lectureRepository, never()).save(any(Lecture.class));
     }
 
     @Test
@@ -161,28 +326,34 @@ class LectureServiceTest {
     }
 
     @Test
-    void deleteLecture_HandlesDocumentServiceFailure() {
+    void getLectureById_ThrowsException_WhenTombstoned() {
+        mockLecture.setDeletedAt(LocalDateTime.now());
         when(lectureRepository.findById(1L)).thenReturn(Optional.of(mockLecture));
-        when(documentServiceClient.deleteDocumentsByLecture(anyString()))
-            .thenThrow(new RuntimeException("Document service unavailable"));
 
-        assertDoesNotThrow(() -> lectureService.deleteLecture(1L));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> lectureService.getLectureById(1L));
+        assertTrue(exception.getMessage().contains("not found"));
+    }
+
+    @Test
+    void getDeletionStatus_ThrowsException_WhenNotFound() {
+        when(lectureDeletionRepository.findById(999L)).thenReturn(Optional.empty());
 
-        verify(lectureRepository, times(1)).delete(mockLecture);
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> lectureService.getDeletionStatus(999L));
+        assertTrue(exception.getMessage().contains("not found"));
     }
 
     @Test
     void getAllLectures_Success() {
-        List<Lecture> mockLectures = Arrays.asList(
-            mockLecture,
-            new Lecture("Another Lecture", "user456")
+        List<LectureResponse> mockLectures = Arrays.asList(
+            new LectureResponse(mockLecture),
+            new LectureResponse(new Lecture("Another Lecture", "user456"))
         );
-        when(lectureRepository.findAll()).thenReturn(mockLectures);
+        when(lectureRepository.findPage(any(Pageable.class))).thenReturn(mockLectures);
 
-        List<LectureResponse> result = lectureService.getAllLectures();
+        CursorPage<LectureResponse> result = lectureService.getAllLectures(null, null);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(lectureRepository, times(1)).findAll();
+        assertEquals(2, result.getItems().size());
+        verify(lectureRepository, times(1)).findPage(any(Pageable.class));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,72 @@
+package de.tum.team_sigma.lecture_service.smoke;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end lecture lifecycle over HTTP with the real persistence stack and no mocks, so the
+ * same test runs on the JVM ({@code ./gradlew smokeTest}) and compiled ahead of time
+ * ({@code ./gradlew nativeSmokeTest}). Uses H2 from the test profile; to check parity against
+ * Postgres, point it there with e.g. {@code SPRING_DATASOURCE_URL},
+ * {@code SPRING_DATASOURCE_DRIVER_CLASS_NAME=org.postgresql.Driver}, {@code SPRING_FLYWAY_ENABLED=true}
+ * and {@code SPRING_JPA_HIBERNATE_DDL_AUTO=validate}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LectureServiceSmokeTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> OBJECT = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> LIST = new ParameterizedTypeReference<>() {
+    };
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void lectureLifecycle() {
+        ResponseEntity<Map<String, Object>> created = restTemplate.exchange("/api/lectures", HttpMethod.POST,
+            new HttpEntity<>(Map.of("name", "Smoke Test", "userId", "smoke-user")), OBJECT);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        Number id = (Number) created.getBody().get("id");
+        assertNotNull(id);
+
+        ResponseEntity<List<Map<String, Object>>> listed = restTemplate.exchange("/api/lectures/user/smoke-user",
+            HttpMethod.GET, null, LIST);
+        assertEquals(HttpStatus.OK, listed.getStatusCode());
+        assertEquals(List.of("Smoke Test"), listed.getBody().stream().map(lecture -> lecture.get("name")).toList());
+
+        ResponseEntity<Map<String, Object>> renamed = restTemplate.exchange("/api/lectures/" + id, HttpMethod.PUT,
+            new HttpEntity<>(Map.of("name", "Smoke Test (renamed)", "userId", "smoke-user")), OBJECT);
+        assertEquals(HttpStatus.OK, renamed.getStatusCode());
+        assertEquals("Smoke Test (renamed)", restTemplate.exchange("/api/lectures/" + id, HttpMethod.GET, null, OBJECT)
+            .getBody().get("name"));
+
+        // document-service is not running: the overview must still answer, just without document counts
+        ResponseEntity<List<Map<String, Object>>> overview = restTemplate.exchange(
+            "/api/lectures/overview?userId=smoke-user", HttpMethod.GET, null, LIST);
+        assertEquals(HttpStatus.OK, overview.getStatusCode());
+        assertEquals(1, overview.getBody().size());
+
+        ResponseEntity<Map<String, Object>> deleted = restTemplate.exchange("/api/lectures/" + id, HttpMethod.DELETE,
+            null, OBJECT);
+        assertEquals(HttpStatus.ACCEPTED, deleted.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND,
+            restTemplate.exchange("/api/lectures/" + id, HttpMethod.GET, null, OBJECT).getStatusCode());
+        assertEquals("PENDING", restTemplate.exchange("/api/lectures/" + id + "/deletion", HttpMethod.GET, null, OBJECT)
+            .getBody().get("status"));
+    }
+}